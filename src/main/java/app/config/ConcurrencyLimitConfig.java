@@ -0,0 +1,56 @@
+package app.config;
+
+import app.web.AdaptiveConcurrencyLimiter;
+import app.web.ConcurrencyLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter sendConcurrencyLimiter(
+            @Value("${notifications.send.limit.initial:20}") int initialLimit,
+            @Value("${notifications.send.limit.min:2}") int minLimit,
+            @Value("${notifications.send.limit.max:200}") int maxLimit,
+            @Value("${notifications.send.limit.latency-target:250ms}") Duration latencyTarget,
+            @Value("${notifications.send.limit.backoff-ratio:0.9}") double backoffRatio,
+            MeterRegistry meterRegistry) {
+
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                latencyTarget.toNanos(), backoffRatio);
+
+        Gauge.builder("notifications.send.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit of POST /api/v1/notifications")
+                .register(meterRegistry);
+        Gauge.builder("notifications.send.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+
+        return limiter;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> sendConcurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter sendConcurrencyLimiter,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            @Value("${notifications.send.limit.retry-after:1s}") Duration retryAfter) {
+
+        Counter rejected = Counter.builder("notifications.send.rejected")
+                .description("Requests to POST /api/v1/notifications shed by the concurrency limiter")
+                .register(meterRegistry);
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(sendConcurrencyLimiter, rejected, objectMapper, retryAfter));
+        registration.addUrlPatterns("/api/v1/notifications");
+        return registration;
+    }
+}
@@ -0,0 +1,43 @@
+package app.config;
+
+import app.model.ChannelType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "notifications.delivery")
+public class DeliveryProperties {
+
+    private ChannelType defaultChannel = ChannelType.EMAIL;
+
+    private Map<ChannelType, Bulkhead> channels = new EnumMap<>(ChannelType.class);
+
+    private Webhook webhook = new Webhook();
+
+    public Bulkhead getBulkhead(ChannelType type) {
+        return channels.getOrDefault(type, new Bulkhead());
+    }
+
+    @Data
+    public static class Bulkhead {
+
+        private int threads = 4;
+        private int queueCapacity = 100;
+        private Duration timeout = Duration.ofSeconds(10);
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Webhook {
+
+        /**
+         * Lets webhooks target loopback, private and link-local addresses. Only meant for local development.
+         */
+        private boolean allowPrivateAddresses = false;
+    }
+}
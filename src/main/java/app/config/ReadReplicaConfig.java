@@ -0,0 +1,96 @@
+package app.config;
+
+import app.web.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The primary pool keeps using {@code spring.datasource.*}; read-only transactions are routed by
+ * {@link ReadReplicaRoutingDataSource} to the {@code notifications.datasource.replicas[n]} that are configured.
+ * <p>
+ * Registered unconditionally: the fast-start jar fixes its bean definitions at build time, so a condition on
+ * the replica properties would be decided then and not by the configuration the jar runs with. Without
+ * replicas every connection simply comes from the primary.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                     ReplicaProperties replicaProperties) {
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.getReplicas().size(); i++) {
+            ReplicaProperties.Replica replica = replicaProperties.getReplicas().get(i);
+            HikariDataSource replicaDataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .driverClassName(replica.getDriverClassName())
+                    .build();
+            replicaDataSource.setPoolName("replica-" + i);
+            replicaDataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            // Hikari waits 30s for a connection by default; a replica that is down should fail over at once.
+            replicaDataSource.setConnectionTimeout(replicaProperties.getHealthCheckTimeout().toMillis());
+            replicaDataSource.setReadOnly(true);
+            // Let the application start while a replica is down; the health check takes it out of rotation.
+            replicaDataSource.setInitializationFailTimeout(-1);
+            replicas.add(replicaDataSource);
+        }
+
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas,
+                replicaProperties.getHealthCheckTimeout());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    /**
+     * With open-in-view, Hibernate would otherwise hold the first connection of a request for all later
+     * transactions of that request, so a write could end up on the replica chosen for an earlier read.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransactionCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
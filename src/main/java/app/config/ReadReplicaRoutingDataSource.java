@@ -0,0 +1,181 @@
+package app.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything else.
+ * Replicas are used round-robin; one that fails to connect or fails its health check is skipped until it
+ * passes again, and with no healthy replica reads fall back to the primary.
+ * <p>
+ * Read-your-writes: once a thread has opened a read-write transaction it is pinned to the primary, so a
+ * read following a write in the same request sees that write. {@code ReadYourWritesFilter} lifts the pin
+ * when the request ends; worker threads outside a request stay on the primary.
+ * <p>
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction's read-only flag is only set after the transaction manager has asked for a connection.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    // Bound to a transaction that was handed a replica connection, for the length of that transaction.
+    private static final Object REPLICA_READ = new Object();
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Duration healthCheckTimeout;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                        Duration healthCheckTimeout) {
+        this.primary = primary;
+        this.healthCheckTimeout = healthCheckTimeout;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + i, replicas.get(i)));
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(Connector connector) throws SQLException {
+        if (replicas.isEmpty()) {
+            return connector.connect(primary);
+        }
+
+        boolean transactional = TransactionSynchronizationManager.isActualTransactionActive();
+        if (!transactional || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || PINNED_TO_PRIMARY.get() != null) {
+            if (transactional) {
+                PINNED_TO_PRIMARY.set(Boolean.TRUE);
+            }
+            return connector.connect(primary);
+        }
+
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = connector.connect(replica.dataSource);
+                markReplicaRead();
+                return connection;
+            } catch (SQLFeatureNotSupportedException e) {
+                throw e;
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+        return connector.connect(primary);
+    }
+
+    private static void markReplicaRead() {
+        if (TransactionSynchronizationManager.hasResource(REPLICA_READ)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_READ, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_READ);
+            }
+        });
+    }
+
+    /**
+     * Whether the current transaction reads from a replica, i.e. may not yet see recent writes. Only known
+     * once the transaction has used its connection.
+     */
+    public static boolean isReplicaRead() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_READ);
+    }
+
+    public static void clearPrimaryPin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.datasource.health-check-interval:5s}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid((int) Math.max(1, healthCheckTimeout.toSeconds()))) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Closes the replica pools; the primary pool belongs to the caller.
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                log.info("Read replica [{}] is back, routing reads to it again", name);
+                healthy = true;
+            }
+        }
+
+        private void markDown(SQLException cause) {
+            if (healthy) {
+                log.warn("Read replica [{}] is unavailable, skipping it until it passes a health check: {}", name,
+                        cause != null ? cause.getMessage() : "connection not valid");
+                healthy = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "notifications.datasource")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+
+    @Data
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,100 @@
+package app.delivery;
+
+import app.config.DeliveryProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs one channel's deliveries on its own bounded pool, so a slow channel can only ever tie up its own
+ * threads. Calls are rejected straight away when the queue is full or the circuit is open, and a call
+ * that runs longer than the channel timeout is interrupted and counted as a failure.
+ */
+@Slf4j
+public class ChannelBulkhead {
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timeoutScheduler;
+    private final Duration timeout;
+    private final CircuitBreaker circuitBreaker;
+
+    public ChannelBulkhead(String name,
+                           DeliveryProperties.Bulkhead settings,
+                           ScheduledExecutorService timeoutScheduler,
+                           Clock clock) {
+        this.name = name;
+        this.timeoutScheduler = timeoutScheduler;
+        this.timeout = settings.getTimeout();
+        this.circuitBreaker = new CircuitBreaker(settings.getFailureThreshold(), settings.getOpenDuration(), clock);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+                runnable -> new Thread(runnable, "delivery-" + name + "-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public CompletableFuture<Void> submit(Runnable delivery) {
+        CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (permit == CircuitBreaker.Permit.DENIED) {
+            return CompletableFuture.failedFuture(new ChannelUnavailableException("Circuit for channel %s is open."
+                    .formatted(name)));
+        }
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> run(delivery, result));
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.release(permit);
+            return CompletableFuture.failedFuture(new ChannelUnavailableException("Channel %s is saturated."
+                    .formatted(name)));
+        }
+
+        return result.whenComplete((ignored, failure) -> {
+            // A rejected recipient says nothing about the health of the channel.
+            if (failure == null || DeliveryException.isPermanent(failure)) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure();
+            }
+        });
+    }
+
+    /**
+     * The timeout starts when a worker picks the delivery up, not when it is queued: waiting behind a batch
+     * on a healthy channel is not a channel failure.
+     */
+    private void run(Runnable delivery, CompletableFuture<Void> result) {
+        Thread worker = Thread.currentThread();
+        ScheduledFuture<?> timer = timeoutScheduler.schedule(() -> {
+            // Only interrupts while this delivery is still running; the pool clears the flag between tasks.
+            if (result.completeExceptionally(new DeliveryException("Channel %s timed out after %s."
+                    .formatted(name, timeout)))) {
+                worker.interrupt();
+            }
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        try {
+            delivery.run();
+            result.complete(null);
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        } finally {
+            timer.cancel(false);
+        }
+    }
+
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
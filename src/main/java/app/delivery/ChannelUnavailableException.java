@@ -0,0 +1,21 @@
+package app.delivery;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * The delivery was turned away before the channel was called (open circuit, full bulkhead), so it says
+ * nothing about the message and must not count as an attempt.
+ */
+public class ChannelUnavailableException extends DeliveryException {
+
+    public ChannelUnavailableException(String message) {
+        super(message);
+    }
+
+    public static boolean isCause(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        return cause instanceof ChannelUnavailableException;
+    }
+}
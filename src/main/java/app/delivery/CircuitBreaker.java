@@ -0,0 +1,77 @@
+package app.delivery;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold} failures in a row the circuit opens
+ * and rejects calls for {@code openDuration}; after that a single trial call is let through, and its
+ * outcome either closes the circuit again or re-opens it.
+ */
+public class CircuitBreaker {
+
+    public enum Permit {
+        DENIED,
+        GRANTED,
+        /**
+         * The single call let through a half-open circuit. Its outcome must be reported, or handed back
+         * with {@link #release(Permit)} if the call never ran, or no further trial is ever allowed.
+         */
+        TRIAL
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    public synchronized Permit tryAcquire() {
+        if (consecutiveFailures < failureThreshold) {
+            return Permit.GRANTED;
+        }
+        if (clock.millis() < openUntil || trialInFlight) {
+            return Permit.DENIED;
+        }
+        trialInFlight = true;
+        return Permit.TRIAL;
+    }
+
+    /**
+     * Hands back a permit whose call never reached the channel, without counting it either way.
+     */
+    public synchronized void release(Permit permit) {
+        if (permit == Permit.TRIAL) {
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (consecutiveFailures >= failureThreshold) {
+            openUntil = clock.millis() + openDuration.toMillis();
+        }
+    }
+
+    /**
+     * Whether calls are currently rejected. A circuit whose open duration has run out reports closed, so
+     * that callers send the trial call that can close it.
+     */
+    public synchronized boolean isOpen() {
+        return consecutiveFailures >= failureThreshold && (clock.millis() < openUntil || trialInFlight);
+    }
+}
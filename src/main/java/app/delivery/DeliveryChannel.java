@@ -0,0 +1,22 @@
+package app.delivery;
+
+import app.model.ChannelType;
+
+/**
+ * A way of getting a notification to its recipient. Implementations are called from the channel's own
+ * bulkhead threads and should block until the delivery has either succeeded or failed.
+ */
+public interface DeliveryChannel {
+
+    ChannelType getType();
+
+    void deliver(DeliveryMessage message);
+
+    /**
+     * Whether this channel could deliver to {@code recipient} at all. Checked before a preference is saved or
+     * a notification is accepted, so a malformed address is rejected up front instead of failing every retry.
+     */
+    default boolean acceptsRecipient(String recipient) {
+        return true;
+    }
+}
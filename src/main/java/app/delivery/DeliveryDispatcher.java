@@ -0,0 +1,84 @@
+package app.delivery;
+
+import app.config.DeliveryProperties;
+import app.model.ChannelType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Routes a message to its {@link DeliveryChannel} through that channel's {@link ChannelBulkhead}.
+ * Dispatching never blocks the caller; the returned future completes once the channel has finished.
+ */
+@Slf4j
+@Service
+public class DeliveryDispatcher {
+
+    private final Map<ChannelType, DeliveryChannel> channels = new EnumMap<>(ChannelType.class);
+    private final Map<ChannelType, ChannelBulkhead> bulkheads = new EnumMap<>(ChannelType.class);
+    private final ScheduledExecutorService timeoutScheduler;
+
+    @Autowired
+    public DeliveryDispatcher(List<DeliveryChannel> deliveryChannels, DeliveryProperties deliveryProperties) {
+        this.timeoutScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "delivery-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (DeliveryChannel channel : deliveryChannels) {
+            ChannelType type = channel.getType();
+            channels.put(type, channel);
+            bulkheads.put(type, new ChannelBulkhead(type.name().toLowerCase(),
+                    deliveryProperties.getBulkhead(type), timeoutScheduler, Clock.systemUTC()));
+        }
+    }
+
+    public CompletableFuture<Void> dispatch(ChannelType type, DeliveryMessage message) {
+        DeliveryChannel channel = channels.get(type);
+        if (channel == null) {
+            return CompletableFuture.failedFuture(new DeliveryException("No delivery channel registered for %s."
+                    .formatted(type)));
+        }
+
+        return bulkheads.get(type).submit(() -> channel.deliver(message))
+                .whenComplete((ignored, failure) -> {
+                    if (failure == null) {
+                        log.info("Notification [{}] delivered via {} to [{}]", message.getNotificationId(), type,
+                                message.getRecipient());
+                    } else {
+                        log.warn("Failed to deliver notification [{}] via {} to [{}]: {}", message.getNotificationId(),
+                                type, message.getRecipient(), failure.getMessage());
+                    }
+                });
+    }
+
+    public boolean supports(ChannelType type) {
+        return channels.containsKey(type);
+    }
+
+    public boolean acceptsRecipient(ChannelType type, String recipient) {
+        DeliveryChannel channel = channels.get(type);
+        return channel != null && channel.acceptsRecipient(recipient);
+    }
+
+    public boolean isAvailable(ChannelType type) {
+        ChannelBulkhead bulkhead = bulkheads.get(type);
+        return bulkhead != null && !bulkhead.isCircuitOpen();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkheads.values().forEach(ChannelBulkhead::shutdown);
+        timeoutScheduler.shutdownNow();
+    }
+}
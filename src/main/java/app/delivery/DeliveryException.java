@@ -0,0 +1,35 @@
+package app.delivery;
+
+import java.util.concurrent.CompletionException;
+
+public class DeliveryException extends RuntimeException {
+
+    /**
+     * The recipient itself was rejected (unknown mailbox, gone webhook); retrying cannot succeed.
+     */
+    private final boolean permanent;
+
+    public DeliveryException(String message) {
+        this(message, null, false);
+    }
+
+    public DeliveryException(String message, Throwable cause) {
+        this(message, cause, false);
+    }
+
+    public DeliveryException(String message, Throwable cause, boolean permanent) {
+        super(message, cause);
+        this.permanent = permanent;
+    }
+
+    public boolean isPermanent() {
+        return permanent;
+    }
+
+    public static boolean isPermanent(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        return cause instanceof DeliveryException deliveryException && deliveryException.isPermanent();
+    }
+}
@@ -0,0 +1,17 @@
+package app.delivery;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@Builder
+public class DeliveryMessage {
+
+    private UUID notificationId;
+    private UUID userId;
+    private String recipient;
+    private String subject;
+    private String body;
+}
@@ -0,0 +1,66 @@
+package app.delivery;
+
+import app.model.ChannelType;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.MailSender;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmailDeliveryChannel implements DeliveryChannel {
+
+    private final MailSender mailSender;
+
+    @Autowired
+    public EmailDeliveryChannel(MailSender mailSender) {
+        this.mailSender = mailSender;
+    }
+
+    @Override
+    public ChannelType getType() {
+        return ChannelType.EMAIL;
+    }
+
+    @Override
+    public void deliver(DeliveryMessage message) {
+        SimpleMailMessage mailMessage = new SimpleMailMessage();
+        mailMessage.setTo(message.getRecipient());
+        mailMessage.setSubject(message.getSubject());
+        mailMessage.setText(message.getBody());
+
+        try {
+            mailSender.send(mailMessage);
+        } catch (MailParseException e) {
+            throw new DeliveryException("Invalid mail address [%s].".formatted(message.getRecipient()), e, true);
+        } catch (MailSendException e) {
+            throw new DeliveryException("Mail to [%s] failed.".formatted(message.getRecipient()), e,
+                    isRecipientRejected(e));
+        }
+    }
+
+    @Override
+    public boolean acceptsRecipient(String recipient) {
+        try {
+            new InternetAddress(recipient, true).validate();
+            return true;
+        } catch (AddressException e) {
+            return false;
+        }
+    }
+
+    private static boolean isRecipientRejected(MailSendException e) {
+        for (Exception failure : e.getFailedMessages().values()) {
+            if (failure instanceof SendFailedException sendFailed
+                    && sendFailed.getInvalidAddresses() != null
+                    && sendFailed.getInvalidAddresses().length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
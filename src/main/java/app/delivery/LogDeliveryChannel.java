@@ -0,0 +1,25 @@
+package app.delivery;
+
+import app.model.ChannelType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local sink that only writes the notification to the application log. Useful for development and for
+ * users that read their notifications through the history endpoint only.
+ */
+@Slf4j
+@Component
+public class LogDeliveryChannel implements DeliveryChannel {
+
+    @Override
+    public ChannelType getType() {
+        return ChannelType.LOG;
+    }
+
+    @Override
+    public void deliver(DeliveryMessage message) {
+        log.info("Notification [{}] for user [{}]: {}", message.getNotificationId(), message.getUserId(),
+                message.getSubject());
+    }
+}
@@ -0,0 +1,163 @@
+package app.delivery;
+
+import app.config.DeliveryProperties;
+import app.model.ChannelType;
+import app.model.OutboxMessage;
+import app.model.SendOutcome;
+import app.service.OutboxService;
+import app.service.SendStatistics;
+import app.service.SuppressionList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivery worker. Every instance runs one; they share the outbox by claiming disjoint batches, and a
+ * message is only removed once its channel has confirmed delivery. Delivery is at-least-once: if an
+ * instance dies between delivering and acknowledging, the message is re-sent when its lease expires,
+ * carrying the same notification id as idempotency key. A permanent failure is not retried; the recipient
+ * goes onto the {@link SuppressionList} instead.
+ * <p>
+ * Only a delivery that reached its channel uses up an attempt. Channels whose circuit is open are not
+ * claimed from at all, and a message turned away by an open circuit or a full bulkhead is put back as is,
+ * so an outage of any length delays the backlog without dropping it.
+ * <p>
+ * The relay never waits on a delivery. Each message is settled (acknowledged, retried or put back) on the first
+ * poll after its delivery completes, and each channel is claimed from separately, up to what its pool can get
+ * through within one lease. A slow channel therefore only holds back its own messages, and a claimed message
+ * is settled before its lease runs out and another worker could claim it again.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxService outboxService;
+    private final DeliveryDispatcher deliveryDispatcher;
+    private final SuppressionList suppressionList;
+    private final SendStatistics sendStatistics;
+    private final int batchSize;
+    private final Map<ChannelType, Integer> maxInFlight = new EnumMap<>(ChannelType.class);
+    private final Map<ChannelType, AtomicInteger> inFlight = new EnumMap<>(ChannelType.class);
+    private final Queue<CompletedDelivery> completed = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public OutboxRelay(OutboxService outboxService,
+                       DeliveryDispatcher deliveryDispatcher,
+                       SuppressionList suppressionList,
+                       SendStatistics sendStatistics,
+                       DeliveryProperties deliveryProperties,
+                       @Value("${notifications.outbox.lease:2m}") Duration lease,
+                       @Value("${notifications.outbox.batch-size:100}") int batchSize) {
+        this.outboxService = outboxService;
+        this.deliveryDispatcher = deliveryDispatcher;
+        this.suppressionList = suppressionList;
+        this.sendStatistics = sendStatistics;
+        this.batchSize = batchSize;
+
+        for (ChannelType type : ChannelType.values()) {
+            DeliveryProperties.Bulkhead bulkhead = deliveryProperties.getBulkhead(type);
+            // Rounds of timed-out deliveries the pool can work through in one lease, keeping one in reserve.
+            long rounds = Math.max(1, lease.toMillis() / bulkhead.getTimeout().toMillis() - 1);
+            maxInFlight.put(type, (int) Math.min(Integer.MAX_VALUE, bulkhead.getThreads() * rounds));
+            inFlight.put(type, new AtomicInteger());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval:500ms}")
+    public void relay() {
+        settleCompleted();
+        for (ChannelType type : claimableChannels()) {
+            int claimed;
+            do {
+                claimed = relayBatch(type);
+            } while (claimed == batchSize);
+        }
+        // Deliveries turned away straight away are put back now rather than on the next poll.
+        settleCompleted();
+    }
+
+    int relayBatch(ChannelType type) {
+        int room = maxInFlight.get(type) - inFlight.get(type).get();
+        if (room <= 0) {
+            return 0;
+        }
+
+        String leaseOwner = UUID.randomUUID().toString();
+        List<OutboxMessage> messages = outboxService.claim(leaseOwner, Math.min(batchSize, room), EnumSet.of(type));
+        inFlight.get(type).addAndGet(messages.size());
+
+        for (OutboxMessage message : messages) {
+            deliveryDispatcher.dispatch(type, toDeliveryMessage(message))
+                    .whenComplete((ignored, failure) -> completed.add(new CompletedDelivery(message, leaseOwner, failure)));
+        }
+
+        return messages.size();
+    }
+
+    private void settleCompleted() {
+        CompletedDelivery delivery;
+        while ((delivery = completed.poll()) != null) {
+            inFlight.get(delivery.message().getChannel()).decrementAndGet();
+            try {
+                settle(delivery.message(), delivery.leaseOwner(), delivery.failure());
+            } catch (RuntimeException e) {
+                // Left to its lease: the message is picked up again once the lease runs out.
+                log.error("Could not settle outbox message [{}]", delivery.message().getId(), e);
+            }
+        }
+    }
+
+    private void settle(OutboxMessage message, String leaseOwner, Throwable failure) {
+        if (failure == null) {
+            outboxService.acknowledge(List.of(message.getId()), leaseOwner);
+            sendStatistics.record(message.getUserId(), SendOutcome.SENT);
+        } else if (ChannelUnavailableException.isCause(failure)) {
+            outboxService.postpone(message, leaseOwner);
+        } else if (DeliveryException.isPermanent(failure) && message.getRecipient() != null) {
+            // Acknowledged first, so that failing to record the bounce cannot get the message sent again.
+            outboxService.acknowledge(List.of(message.getId()), leaseOwner);
+            sendStatistics.record(message.getUserId(), SendOutcome.FAILED);
+            suppressionList.recordBounce(message.getRecipient());
+        } else if (!outboxService.release(message, leaseOwner)) {
+            sendStatistics.record(message.getUserId(), SendOutcome.FAILED);
+        }
+    }
+
+    private Set<ChannelType> claimableChannels() {
+        Set<ChannelType> channels = EnumSet.noneOf(ChannelType.class);
+        for (ChannelType type : ChannelType.values()) {
+            // Messages for a channel that is not registered are still claimed, so they fail and get dropped.
+            if (!deliveryDispatcher.supports(type) || deliveryDispatcher.isAvailable(type)) {
+                channels.add(type);
+            }
+        }
+        return channels;
+    }
+
+    private DeliveryMessage toDeliveryMessage(OutboxMessage message) {
+
+        return DeliveryMessage.builder()
+                .notificationId(message.getNotificationId())
+                .userId(message.getUserId())
+                .recipient(message.getRecipient())
+                .subject(message.getSubject())
+                .body(message.getBody())
+                .build();
+    }
+
+    private record CompletedDelivery(OutboxMessage message, String leaseOwner, Throwable failure) {
+    }
+}
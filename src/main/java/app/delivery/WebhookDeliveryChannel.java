@@ -0,0 +1,173 @@
+package app.delivery;
+
+import app.config.DeliveryProperties;
+import app.model.ChannelType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * POSTs the notification as JSON to the URL held in the user's contact info. The shared {@link HttpClient}
+ * keeps connections alive and reuses them per host.
+ * <p>
+ * Only absolute http(s) URLs are accepted, and unless {@code notifications.delivery.webhook.allow-private-addresses}
+ * is set, none that point at loopback, private or link-local addresses: a literal address is refused when the
+ * preference is saved, and a host name is checked again against what it resolves to on every delivery.
+ */
+@Component
+public class WebhookDeliveryChannel implements DeliveryChannel {
+
+    private static final Pattern IP_LITERAL = Pattern.compile("\\[.*]|[0-9.]+");
+
+    private final HttpClient webhookHttpClient;
+    private final ObjectMapper objectMapper;
+    private final DeliveryProperties deliveryProperties;
+
+    @Autowired
+    public WebhookDeliveryChannel(HttpClient webhookHttpClient,
+                                  ObjectMapper objectMapper,
+                                  DeliveryProperties deliveryProperties) {
+        this.webhookHttpClient = webhookHttpClient;
+        this.objectMapper = objectMapper;
+        this.deliveryProperties = deliveryProperties;
+    }
+
+    @Override
+    public ChannelType getType() {
+        return ChannelType.WEBHOOK;
+    }
+
+    @Override
+    public boolean acceptsRecipient(String recipient) {
+        URI uri = toWebhookUri(recipient);
+        if (uri == null) {
+            return false;
+        }
+        if (privateAddressesAllowed()) {
+            return true;
+        }
+        // Resolving names here would only hold until the DNS record changes; deliver() checks them each time.
+        String host = uri.getHost();
+        if (host.equalsIgnoreCase("localhost") || host.toLowerCase().endsWith(".localhost")) {
+            return false;
+        }
+        try {
+            return !IP_LITERAL.matcher(host).matches() || !isPrivate(InetAddress.getByName(host));
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void deliver(DeliveryMessage message) {
+        URI uri = toWebhookUri(message.getRecipient());
+        if (uri == null) {
+            throw new DeliveryException("Invalid webhook URL [%s].".formatted(message.getRecipient()), null, true);
+        }
+        if (!privateAddressesAllowed()) {
+            requirePublicHost(uri, message.getRecipient());
+        }
+
+        HttpRequest.Builder request;
+        try {
+            request = HttpRequest.newBuilder(uri)
+                    .timeout(deliveryProperties.getBulkhead(ChannelType.WEBHOOK).getTimeout())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(message)));
+        } catch (IllegalArgumentException e) {
+            throw new DeliveryException("Invalid webhook URL [%s].".formatted(message.getRecipient()), e, true);
+        }
+        if (message.getNotificationId() != null) {
+            request.header("Idempotency-Key", message.getNotificationId().toString());
+        }
+
+        HttpResponse<Void> response;
+        try {
+            response = webhookHttpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new DeliveryException("Webhook call to [%s] failed.".formatted(message.getRecipient()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeliveryException("Webhook call to [%s] was interrupted.".formatted(message.getRecipient()), e);
+        }
+
+        int status = response.statusCode();
+        if (status / 100 != 2) {
+            throw new DeliveryException("Webhook [%s] answered with status %d.".formatted(message.getRecipient(), status),
+                    null, status == 404 || status == 410);
+        }
+    }
+
+    private boolean privateAddressesAllowed() {
+        return deliveryProperties.getWebhook().isAllowPrivateAddresses();
+    }
+
+    private static void requirePublicHost(URI uri, String recipient) {
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(uri.getHost());
+        } catch (UnknownHostException e) {
+            throw new DeliveryException("Webhook host of [%s] could not be resolved.".formatted(recipient), e);
+        }
+        for (InetAddress address : addresses) {
+            if (isPrivate(address)) {
+                throw new DeliveryException("Webhook [%s] resolves to non-public address %s."
+                        .formatted(recipient, address.getHostAddress()), null, true);
+            }
+        }
+    }
+
+    /**
+     * Returns the recipient as an absolute http(s) URL with a host, or {@code null} when it is not one.
+     */
+    private static URI toWebhookUri(String recipient) {
+        if (recipient == null) {
+            return null;
+        }
+        try {
+            URI uri = new URI(recipient);
+            boolean http = "http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme());
+            return http && uri.getHost() != null ? uri : null;
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private static boolean isPrivate(InetAddress address) {
+        return address.isLoopbackAddress()
+                || address.isAnyLocalAddress()
+                || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress()
+                || address.isMulticastAddress()
+                // IPv6 unique local addresses (fc00::/7), which isSiteLocalAddress does not cover
+                || (address instanceof Inet6Address && (address.getAddress()[0] & 0xfe) == 0xfc);
+    }
+
+    private byte[] toJson(DeliveryMessage message) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", message.getNotificationId());
+        payload.put("userId", message.getUserId());
+        payload.put("subject", message.getSubject());
+        payload.put("body", message.getBody());
+
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new DeliveryException("Could not serialize webhook payload.", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package app.exception;
+
+/**
+ * Base for expected, client-caused failures. These are answered with a 4xx and never logged with a
+ * trace, so the stack trace is not captured in the first place.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,10 @@
+package app.exception;
+
+import app.model.ChannelType;
+
+public class InvalidRecipientException extends DomainException {
+
+    public InvalidRecipientException(ChannelType channel, String recipient) {
+        super("[%s] is not a valid %s recipient.".formatted(recipient, channel));
+    }
+}
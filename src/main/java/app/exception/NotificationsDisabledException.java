@@ -0,0 +1,10 @@
+package app.exception;
+
+import java.util.UUID;
+
+public class NotificationsDisabledException extends DomainException {
+
+    public NotificationsDisabledException(UUID userId) {
+        super("User with id %s does not allow to receive notifications.".formatted(userId));
+    }
+}
@@ -0,0 +1,10 @@
+package app.exception;
+
+import java.util.UUID;
+
+public class PreferenceNotFoundException extends DomainException {
+
+    public PreferenceNotFoundException(UUID userId) {
+        super("Notification preference not found for user: " + userId);
+    }
+}
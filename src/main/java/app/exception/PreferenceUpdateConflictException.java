@@ -0,0 +1,11 @@
+package app.exception;
+
+import java.util.UUID;
+
+public class PreferenceUpdateConflictException extends DomainException {
+
+    public PreferenceUpdateConflictException(UUID userId, int attempts) {
+        super("Notification preference for user %s kept changing concurrently; gave up after %d attempts."
+                .formatted(userId, attempts));
+    }
+}
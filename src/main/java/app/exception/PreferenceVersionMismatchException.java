@@ -0,0 +1,11 @@
+package app.exception;
+
+import java.util.UUID;
+
+public class PreferenceVersionMismatchException extends DomainException {
+
+    public PreferenceVersionMismatchException(UUID userId) {
+        super("Notification preference for user %s does not match the given version; read it again and retry."
+                .formatted(userId));
+    }
+}
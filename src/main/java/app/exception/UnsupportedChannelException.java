@@ -0,0 +1,10 @@
+package app.exception;
+
+import app.model.ChannelType;
+
+public class UnsupportedChannelException extends DomainException {
+
+    public UnsupportedChannelException(ChannelType channel) {
+        super("Delivery channel %s is not supported.".formatted(channel));
+    }
+}
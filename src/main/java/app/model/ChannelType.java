@@ -0,0 +1,19 @@
+package app.model;
+
+public enum ChannelType {
+
+    EMAIL(true),
+    WEBHOOK(true),
+    SMS(true),
+    LOG(false);
+
+    private final boolean requiresRecipient;
+
+    ChannelType(boolean requiresRecipient) {
+        this.requiresRecipient = requiresRecipient;
+    }
+
+    public boolean requiresRecipient() {
+        return requiresRecipient;
+    }
+}
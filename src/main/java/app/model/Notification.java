@@ -14,10 +14,17 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_notification_user_id_created_on", columnList = "userId, createdOn"))
+@SqlResultSetMapping(name = NotificationSummary.RESULT_SET_MAPPING,
+        classes = @ConstructorResult(targetClass = NotificationSummary.class, columns = {
+                @ColumnResult(name = "id", type = UUID.class),
+                @ColumnResult(name = "subject", type = String.class),
+                @ColumnResult(name = "created_on", type = LocalDateTime.class),
+                @ColumnResult(name = "body_preview", type = String.class)}))
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
@@ -31,4 +38,8 @@ public class Notification {
 
     @Column(nullable = false)
     private LocalDateTime createdOn;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationStatus status;
 }
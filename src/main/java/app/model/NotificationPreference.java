@@ -19,4 +19,11 @@ public class NotificationPreference {
     private boolean enabled;
 
     private String contactInfo;
+
+    @Enumerated(EnumType.STRING)
+    private ChannelType channel;
+
+    // Null until first persisted, which is also how Spring Data tells a new preference from an existing one.
+    @Version
+    private Long version;
 }
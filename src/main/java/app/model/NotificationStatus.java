@@ -0,0 +1,7 @@
+package app.model;
+
+public enum NotificationStatus {
+
+    QUEUED,
+    SUPPRESSED
+}
@@ -0,0 +1,27 @@
+package app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only list view of a {@link Notification}, built by a constructor expression so that only these
+ * columns are selected and nothing is added to the persistence context.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationSummary {
+
+    public static final int BODY_PREVIEW_LENGTH = 100;
+    /**
+     * Maps native queries selecting {@code id, subject, created_on, body_preview} (see {@link Notification}).
+     */
+    public static final String RESULT_SET_MAPPING = "NotificationSummary";
+
+    private UUID id;
+    private String subject;
+    private LocalDateTime createdOn;
+    private String bodyPreview;
+}
@@ -0,0 +1,56 @@
+package app.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_outbox_message_available_at", columnList = "availableAt"))
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID notificationId;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChannelType channel;
+
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * When the message may next be claimed. Claiming pushes it forward by the lease timeout, so a worker
+     * that dies mid-delivery hands the message back once its lease runs out.
+     */
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    private String leaseOwner;
+
+    @Column(nullable = false)
+    private LocalDateTime createdOn;
+}
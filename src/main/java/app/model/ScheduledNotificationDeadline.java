@@ -0,0 +1,19 @@
+package app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Just enough of a {@link ScheduledNotification} to place it on the scheduler's wheel. Built by a constructor
+ * expression, so the body is only read once the notification is actually dispatched.
+ */
+@Getter
+@AllArgsConstructor
+public class ScheduledNotificationDeadline {
+
+    private UUID id;
+    private LocalDateTime sendAt;
+}
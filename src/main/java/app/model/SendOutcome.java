@@ -0,0 +1,11 @@
+package app.model;
+
+public enum SendOutcome {
+
+    SENT,
+    FAILED,
+    // The user has notifications disabled.
+    DISABLED,
+    // The recipient is on the suppression list.
+    SUPPRESSED
+}
@@ -0,0 +1,38 @@
+package app.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Number of notifications with one outcome for one user in one hour. Totals across all users are kept
+ * under {@link #GLOBAL_USER_ID}, so that global figures are read from as few rows as per-user ones.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(SendStatisticsRollupId.class)
+public class SendStatisticsRollup {
+
+    public static final UUID GLOBAL_USER_ID = new UUID(0, 0);
+
+    @Id
+    private LocalDateTime bucketStart;
+
+    @Id
+    private UUID userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private SendOutcome outcome;
+
+    @Column(nullable = false)
+    private long total;
+}
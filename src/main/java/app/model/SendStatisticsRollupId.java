@@ -0,0 +1,19 @@
+package app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SendStatisticsRollupId implements Serializable {
+
+    private LocalDateTime bucketStart;
+    private UUID userId;
+    private SendOutcome outcome;
+}
@@ -0,0 +1,58 @@
+package app.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A recipient address that must not be contacted. Removing a suppression only clears {@code active},
+ * so that instances following the list by {@code updatedOn} also see removals.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_suppressed_recipient_updated_on", columnList = "updatedOn, address"))
+public class SuppressedRecipient implements Persistable<String> {
+
+    @Id
+    @Column(length = 320)
+    private String address;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SuppressionReason reason;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedOn;
+
+    // Lets bulk inserts persist directly instead of merging (one select per address).
+    @Transient
+    @Builder.Default
+    private boolean newEntry = false;
+
+    @Override
+    public String getId() {
+        return address;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntry;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntry = false;
+    }
+}
@@ -0,0 +1,9 @@
+package app.model;
+
+public enum SuppressionReason {
+
+    HARD_BOUNCE,
+    INVALID,
+    COMPLAINT,
+    MANUAL
+}
@@ -0,0 +1,51 @@
+package app.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID version 7 (RFC 9562): a 48-bit Unix millisecond timestamp, then a 12-bit counter, then 62 random
+ * bits. Stored as BINARY(16), most significant byte first, consecutive ids land next to each other in the
+ * primary key instead of at random pages. The counter keeps ids from this process strictly increasing
+ * within a millisecond; if it overflows, the timestamp field runs slightly ahead of the clock.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static UUID next() {
+        long timestampAndCounter = nextTimestampAndCounter(System.currentTimeMillis());
+        long msb = (timestampAndCounter >>> 12) << 16 | 0x7000L | (timestampAndCounter & 0xfffL);
+        long lsb = ThreadLocalRandom.current().nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static long nextTimestampAndCounter(long now) {
+        long candidate = now << 12;
+        while (true) {
+            long last = LAST_TIMESTAMP_AND_COUNTER.get();
+            long next = candidate > last ? candidate : last + 1;
+            if (LAST_TIMESTAMP_AND_COUNTER.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package app.repository;
 
 import app.model.Notification;
+import app.model.NotificationSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,4 +17,27 @@ import java.util.UUID;
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
 
     List<Notification> findByUserId(UUID userId);
+
+    @Query("select new app.model.NotificationSummary(n.id, n.subject, n.createdOn, substring(n.body, 1, " +
+            NotificationSummary.BODY_PREVIEW_LENGTH + ")) " +
+            "from Notification n where n.userId = :userId order by n.createdOn desc, n.id desc")
+    List<NotificationSummary> findSummariesByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    /**
+     * Ranked keyword search over subject and body, served by the {@code ft_notification_subject_body}
+     * FULLTEXT index (see V5 migration). Like {@link #findSummariesByUserId(UUID, Pageable)} it reads only the summary
+     * columns and a body preview, never the full TEXT body.
+     */
+    @NativeQuery(value = "select n.id, n.subject, n.created_on, substring(n.body, 1, " +
+            NotificationSummary.BODY_PREVIEW_LENGTH + ") as body_preview from notification n " +
+            "where n.user_id = :userId " +
+            "and match(n.subject, n.body) against (:query in natural language mode) " +
+            "and n.created_on >= :from and n.created_on < :to " +
+            "order by match(n.subject, n.body) against (:query in natural language mode) desc, n.created_on desc",
+            sqlResultSetMapping = NotificationSummary.RESULT_SET_MAPPING)
+    List<NotificationSummary> search(@Param("userId") UUID userId,
+                              @Param("query") String query,
+                              @Param("from") LocalDateTime from,
+                              @Param("to") LocalDateTime to,
+                              Pageable pageable);
 }
@@ -0,0 +1,43 @@
+package app.repository;
+
+import app.model.ChannelType;
+import app.model.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    /**
+     * Locks the next available messages with {@code FOR UPDATE SKIP LOCKED} (lock timeout -2), so that
+     * concurrent workers each get a disjoint batch instead of waiting on each other's rows.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OutboxMessage> findByChannelInAndAvailableAtLessThanEqualOrderByAvailableAtAsc(Collection<ChannelType> channels,
+                                                                                      LocalDateTime now,
+                                                                                      Pageable pageable);
+
+    @Modifying
+    @Query("delete from OutboxMessage o where o.id in :ids and o.leaseOwner = :leaseOwner")
+    int acknowledge(@Param("ids") Collection<UUID> ids, @Param("leaseOwner") String leaseOwner);
+
+    @Modifying
+    @Query("update OutboxMessage o set o.attempts = o.attempts + 1, o.availableAt = :retryAt, o.leaseOwner = null " +
+            "where o.id = :id and o.leaseOwner = :leaseOwner")
+    int release(@Param("id") UUID id, @Param("leaseOwner") String leaseOwner, @Param("retryAt") LocalDateTime retryAt);
+
+    @Modifying
+    @Query("update OutboxMessage o set o.availableAt = :retryAt, o.leaseOwner = null " +
+            "where o.id = :id and o.leaseOwner = :leaseOwner")
+    int postpone(@Param("id") UUID id, @Param("leaseOwner") String leaseOwner, @Param("retryAt") LocalDateTime retryAt);
+}
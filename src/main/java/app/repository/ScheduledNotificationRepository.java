@@ -0,0 +1,46 @@
+package app.repository;
+
+import app.model.ScheduledNotification;
+import app.model.ScheduledNotificationDeadline;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ScheduledNotificationRepository extends JpaRepository<ScheduledNotification, UUID> {
+
+    @Query("select new app.model.ScheduledNotificationDeadline(s.id, s.sendAt) from ScheduledNotification s " +
+            "where s.sendAt between :from and :until order by s.sendAt asc, s.id asc")
+    List<ScheduledNotificationDeadline> findDeadlines(@Param("from") LocalDateTime from,
+                                                      @Param("until") LocalDateTime until,
+                                                      Pageable pageable);
+
+    /**
+     * Next page of a {@code (sendAt, id)} keyset scan, resuming after the last row of the previous page, so
+     * rows that share one {@code sendAt} are never skipped or read twice. InnoDB secondary indexes carry the
+     * primary key, so the {@code send_at} index serves this order as is.
+     */
+    @Query("select new app.model.ScheduledNotificationDeadline(s.id, s.sendAt) from ScheduledNotification s " +
+            "where s.sendAt <= :until " +
+            "and (s.sendAt > :afterSendAt or (s.sendAt = :afterSendAt and s.id > :afterId)) " +
+            "order by s.sendAt asc, s.id asc")
+    List<ScheduledNotificationDeadline> findDeadlinesAfter(@Param("afterSendAt") LocalDateTime afterSendAt,
+                                                           @Param("afterId") UUID afterId,
+                                                           @Param("until") LocalDateTime until,
+                                                           Pageable pageable);
+
+    /**
+     * Deletes the row and reports whether this caller was the one that removed it, so that only one
+     * instance dispatches a scheduled notification.
+     */
+    @Modifying
+    @Query("delete from ScheduledNotification s where s.id = :id")
+    int deleteScheduled(@Param("id") UUID id);
+}
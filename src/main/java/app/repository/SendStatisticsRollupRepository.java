@@ -0,0 +1,35 @@
+package app.repository;
+
+import app.model.SendStatisticsRollup;
+import app.model.SendStatisticsRollupId;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SendStatisticsRollupRepository extends JpaRepository<SendStatisticsRollup, SendStatisticsRollupId> {
+
+    /**
+     * Adds {@code delta} to the row, creating it if needed. A single statement, so instances flushing the
+     * same hour concurrently never overwrite each other's counts.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into send_statistics_rollup (bucket_start, user_id, outcome, total) " +
+            "values (:bucketStart, :userId, :outcome, :delta) " +
+            "on duplicate key update total = total + :delta", nativeQuery = true)
+    void increment(@Param("bucketStart") LocalDateTime bucketStart,
+                   @Param("userId") UUID userId,
+                   @Param("outcome") String outcome,
+                   @Param("delta") long delta);
+
+    List<SendStatisticsRollup> findByUserIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+            UUID userId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,40 @@
+package app.repository;
+
+import app.model.SuppressedRecipient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SuppressedRecipientRepository extends JpaRepository<SuppressedRecipient, String> {
+
+    /**
+     * Keyset page of changes after ({@code updatedOn}, {@code address}), so that bulk changes sharing one
+     * timestamp are still paged through completely.
+     */
+    @Query("select s from SuppressedRecipient s " +
+            "where s.updatedOn > :updatedOn or (s.updatedOn = :updatedOn and s.address > :address) " +
+            "order by s.updatedOn, s.address")
+    List<SuppressedRecipient> findChangesAfter(@Param("updatedOn") LocalDateTime updatedOn,
+                                               @Param("address") String address,
+                                               Pageable pageable);
+
+    /**
+     * Inserts an active suppression or reactivates the existing row in one statement, so that two writers
+     * suppressing the same new address do not collide on the primary key.
+     */
+    @Modifying
+    @NativeQuery("insert into suppressed_recipient (address, reason, active, updated_on) " +
+            "values (:address, :reason, true, :updatedOn) " +
+            "on duplicate key update reason = :reason, active = true, updated_on = :updatedOn")
+    int upsertActive(@Param("address") String address,
+                     @Param("reason") String reason,
+                     @Param("updatedOn") LocalDateTime updatedOn);
+}
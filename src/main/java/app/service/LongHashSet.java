@@ -0,0 +1,103 @@
+package app.service;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing set of primitive longs with linear probing: eight bytes per slot and no boxing.
+ * Zero marks an empty slot, so callers must not store zero. Not thread-safe.
+ */
+public class LongHashSet {
+
+    private static final double MAX_LOAD = 0.6;
+
+    private long[] slots;
+    private int size;
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        this.slots = new long[capacity];
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) {
+            return false;
+        }
+
+        int mask = slots.length - 1;
+        for (int i = index(value, mask); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == value) {
+                return true;
+            }
+            if (slot == 0) {
+                return false;
+            }
+        }
+    }
+
+    public boolean add(long value) {
+        if (value == 0) {
+            throw new IllegalArgumentException("Zero is reserved for empty slots.");
+        }
+        if (size + 1 > slots.length * MAX_LOAD) {
+            resize(slots.length << 1);
+        }
+
+        int mask = slots.length - 1;
+        for (int i = index(value, mask); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == value) {
+                return false;
+            }
+            if (slot == 0) {
+                slots[i] = value;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    public boolean remove(long value) {
+        if (value == 0) {
+            return false;
+        }
+
+        int mask = slots.length - 1;
+        int i = index(value, mask);
+        while (slots[i] != value) {
+            if (slots[i] == 0) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+
+        // Backward-shift deletion keeps every remaining entry reachable from its home slot.
+        int gap = i;
+        for (int j = (gap + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+            int home = index(slots[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                slots[gap] = slots[j];
+                gap = j;
+            }
+        }
+        slots[gap] = 0;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        long[] old = slots;
+        slots = new long[capacity];
+        size = 0;
+        Arrays.stream(old).filter(value -> value != 0).forEach(this::add);
+    }
+
+    private static int index(long value, int mask) {
+        long mixed = value * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+}
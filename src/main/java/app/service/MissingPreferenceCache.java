@@ -0,0 +1,103 @@
+package app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of user ids that are known to have no preference, so repeated sends for unknown users
+ * are answered without a database round trip. A miss is only recorded if no preference was created
+ * since the lookup started (see {@link #stamp()}), and entries expire after {@code ttl} so that
+ * preferences created through another instance become visible eventually.
+ * <p>
+ * Lookups sit on the send path and take no lock. Once the cache is over {@code maxSize}, one writer
+ * sweeps out expired entries and, if that is not enough, arbitrary ones: an evicted id only costs one
+ * more database read.
+ */
+@Component
+public class MissingPreferenceCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final ConcurrentMap<UUID, Long> expiries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MissingPreferenceCache(@Value("${notifications.preferences.missing-cache.max-size:100000}") int maxSize,
+                                  @Value("${notifications.preferences.missing-cache.ttl:1m}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public boolean isMissing(UUID userId) {
+        Long expiry = expiries.get(userId);
+        if (expiry == null) {
+            return false;
+        }
+        if (expiry < System.currentTimeMillis()) {
+            expiries.remove(userId, expiry);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Taken before the database lookup and handed back to {@link #markMissing(UUID, long)}.
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public void markMissing(UUID userId, long stamp) {
+        if (stamp != invalidations.get()) {
+            return;
+        }
+
+        Long expiry = System.currentTimeMillis() + ttlMillis;
+        expiries.put(userId, expiry);
+        // An invalidation that raced with the put either sees the entry and removes it, or is seen here.
+        if (stamp != invalidations.get()) {
+            expiries.remove(userId, expiry);
+        }
+
+        if (expiries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    public void invalidate(UUID userId) {
+        invalidations.incrementAndGet();
+        expiries.remove(userId);
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            expiries.values().removeIf(expiry -> expiry < now);
+
+            Iterator<UUID> iterator = expiries.keySet().iterator();
+            while (expiries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
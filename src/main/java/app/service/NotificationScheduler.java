@@ -0,0 +1,149 @@
+package app.service;
+
+import app.exception.DomainException;
+import app.model.ScheduledNotification;
+import app.model.ScheduledNotificationDeadline;
+import app.repository.ScheduledNotificationRepository;
+import app.web.dto.NotificationRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the scheduled notifications that are due within the loading horizon in a {@link TimingWheel}
+ * and dispatches them when their tick comes round. The table is only ever read as a range scan over
+ * the {@code sendAt} index, and a restarted instance rehydrates the wheel on its first load.
+ * <p>
+ * Every load re-scans from {@code now - grace} rather than from where the previous one stopped: a row
+ * accepted by another instance inside the horizon is only in that instance's wheel, and if it dies the
+ * re-scan is what picks the row up. The wheel ignores ids it already holds, and deleting the row on
+ * dispatch decides which instance sends it.
+ * <p>
+ * The wheel only holds ids and deadlines; the body is read when the notification is sent. Due entries are
+ * sent on a bounded pool, and an entry the pool has no room for goes back on the wheel for a later tick.
+ */
+@Slf4j
+@Service
+public class NotificationScheduler {
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1000, 1, 1, 0, 0);
+
+    private final ScheduledNotificationRepository scheduledNotificationRepository;
+    private final NotificationService notificationService;
+    private final Duration horizon;
+    private final Duration grace;
+    private final int loadBatchSize;
+    private final TimingWheel<UUID, ScheduledNotificationDeadline> wheel;
+    private final ThreadPoolExecutor dispatchExecutor;
+
+    private volatile boolean rehydrated;
+
+    @Autowired
+    public NotificationScheduler(ScheduledNotificationRepository scheduledNotificationRepository,
+                                 NotificationService notificationService,
+                                 @Value("${notifications.scheduler.tick:200ms}") Duration tick,
+                                 @Value("${notifications.scheduler.horizon:1m}") Duration horizon,
+                                 @Value("${notifications.scheduler.grace:5m}") Duration grace,
+                                 @Value("${notifications.scheduler.load-batch-size:5000}") int loadBatchSize,
+                                 @Value("${notifications.scheduler.dispatch-threads:4}") int dispatchThreads,
+                                 @Value("${notifications.scheduler.dispatch-queue-capacity:1000}") int dispatchQueueCapacity) {
+        this.scheduledNotificationRepository = scheduledNotificationRepository;
+        this.notificationService = notificationService;
+        this.horizon = horizon;
+        this.grace = grace;
+        this.loadBatchSize = loadBatchSize;
+        this.wheel = new TimingWheel<>(tick, (int) (horizon.toMillis() / tick.toMillis()) + 1,
+                System.currentTimeMillis());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatchExecutor = new ThreadPoolExecutor(dispatchThreads, dispatchThreads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(dispatchQueueCapacity),
+                runnable -> new Thread(runnable, "scheduled-dispatch-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.dispatchExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public ScheduledNotification schedule(NotificationRequest notificationRequest) {
+        ScheduledNotification scheduled = notificationService.scheduleNotification(notificationRequest);
+
+        if (!scheduled.getSendAt().isAfter(LocalDateTime.now().plus(horizon))) {
+            track(new ScheduledNotificationDeadline(scheduled.getId(), scheduled.getSendAt()));
+        }
+
+        return scheduled;
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.scheduler.load-interval:10s}")
+    public void loadDueSoon() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(horizon);
+        // The first load also picks up whatever fell overdue while no instance was running.
+        LocalDateTime from = rehydrated ? now.minus(grace) : BEGINNING;
+        PageRequest page = PageRequest.of(0, loadBatchSize);
+
+        List<ScheduledNotificationDeadline> batch = scheduledNotificationRepository.findDeadlines(from, until, page);
+        batch.forEach(this::track);
+
+        while (batch.size() == loadBatchSize) {
+            ScheduledNotificationDeadline last = batch.get(batch.size() - 1);
+            batch = scheduledNotificationRepository.findDeadlinesAfter(last.getSendAt(), last.getId(), until, page);
+            batch.forEach(this::track);
+        }
+
+        rehydrated = true;
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.scheduler.tick:200ms}")
+    public void dispatchDue() {
+        for (ScheduledNotificationDeadline due : wheel.advance(System.currentTimeMillis())) {
+            try {
+                dispatchExecutor.execute(() -> dispatch(due));
+            } catch (RejectedExecutionException e) {
+                retryLater(due);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchExecutor.shutdownNow();
+    }
+
+    private void dispatch(ScheduledNotificationDeadline due) {
+        try {
+            notificationService.sendScheduledNotification(due.getId());
+        } catch (DomainException e) {
+            log.warn("Dropping scheduled notification [{}]: {}", due.getId(), e.getMessage());
+            scheduledNotificationRepository.deleteById(due.getId());
+        } catch (Exception e) {
+            log.warn("Failed to dispatch scheduled notification [{}], retrying: {}", due.getId(), e.getMessage());
+            retryLater(due);
+        }
+    }
+
+    private void retryLater(ScheduledNotificationDeadline due) {
+        wheel.add(due.getId(), due, System.currentTimeMillis() + RETRY_DELAY.toMillis());
+    }
+
+    private void track(ScheduledNotificationDeadline due) {
+        long deadline = due.getSendAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        wheel.add(due.getId(), due, deadline);
+    }
+}
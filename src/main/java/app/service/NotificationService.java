@@ -1,109 +1,374 @@
 package app.service;
 
+import app.config.DeliveryProperties;
+import app.config.ReadReplicaRoutingDataSource;
+import app.delivery.DeliveryDispatcher;
+import app.exception.InvalidRecipientException;
+import app.exception.NotificationsDisabledException;
+import app.exception.PreferenceNotFoundException;
+import app.exception.PreferenceUpdateConflictException;
+import app.exception.PreferenceVersionMismatchException;
+import app.exception.UnsupportedChannelException;
+import app.model.ChannelType;
 import app.model.Notification;
 import app.model.NotificationPreference;
+import app.model.NotificationStatus;
+import app.model.NotificationSummary;
+import app.model.OutboxMessage;
+import app.model.ScheduledNotification;
+import app.model.SendOutcome;
 import app.repository.NotificationPreferenceRepository;
 import app.repository.NotificationRepository;
+import app.repository.OutboxMessageRepository;
+import app.repository.ScheduledNotificationRepository;
 import app.web.dto.NotificationRequest;
 import app.web.dto.UpsertNotificationPreference;
-import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.MailSender;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 public class NotificationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_PREFERENCE_WRITE_ATTEMPTS = 5;
+    // Open-ended search ranges are clamped to what a MySQL DATETIME can hold.
+    private static final LocalDateTime SEARCH_RANGE_START = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime SEARCH_RANGE_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final NotificationPreferenceRepository preferenceRepository;
     private final NotificationRepository notificationRepository;
-    private final MailSender mailSender;
+    private final ScheduledNotificationRepository scheduledNotificationRepository;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final DeliveryProperties deliveryProperties;
+    private final DeliveryDispatcher deliveryDispatcher;
+    private final MissingPreferenceCache missingPreferenceCache;
+    private final SuppressionList suppressionList;
+    private final SendStatistics sendStatistics;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public NotificationService(NotificationPreferenceRepository preferenceRepository,
                                NotificationRepository notificationRepository,
-                               MailSender mailSender) {
+                               ScheduledNotificationRepository scheduledNotificationRepository,
+                               OutboxMessageRepository outboxMessageRepository,
+                               DeliveryProperties deliveryProperties,
+                               DeliveryDispatcher deliveryDispatcher,
+                               MissingPreferenceCache missingPreferenceCache,
+                               SuppressionList suppressionList,
+                               SendStatistics sendStatistics,
+                               PlatformTransactionManager transactionManager) {
         this.preferenceRepository = preferenceRepository;
         this.notificationRepository = notificationRepository;
-        this.mailSender = mailSender;
+        this.scheduledNotificationRepository = scheduledNotificationRepository;
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.deliveryProperties = deliveryProperties;
+        this.deliveryDispatcher = deliveryDispatcher;
+        this.missingPreferenceCache = missingPreferenceCache;
+        this.suppressionList = suppressionList;
+        this.sendStatistics = sendStatistics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
     public NotificationPreference upsertPreference(UpsertNotificationPreference dto) {
-        Optional<NotificationPreference> existingOpt = preferenceRepository.findByUserId(dto.getUserId());
+        return upsertPreference(dto, null);
+    }
 
-        if (existingOpt.isPresent()) {
-            NotificationPreference preference = existingOpt.get();
-            preference.setContactInfo(dto.getContactInfo());
-            preference.setEnabled(dto.isNotificationEnabled());
-            return preferenceRepository.save(preference);
-        }
-        NotificationPreference newPref = NotificationPreference.builder()
-                .userId(dto.getUserId())
-                .enabled(dto.isNotificationEnabled())
-                .contactInfo(dto.getContactInfo())
-                .build();
+    /**
+     * Creates or replaces the user's preference. With an {@code expectedVersion} (from If-Match) the write
+     * only succeeds against that version; without one a concurrent write is retried on a fresh read.
+     */
+    public NotificationPreference upsertPreference(UpsertNotificationPreference dto, Long expectedVersion) {
+        // A preference without a channel is delivered through the default one.
+        ChannelType channel = dto.getChannel() != null
+                ? requireSupported(dto.getChannel())
+                : deliveryProperties.getDefaultChannel();
+        requireValidRecipient(channel, dto.getContactInfo());
+
+        return writePreference(dto.getUserId(), expectedVersion, () -> {
+            invalidateMissingPreferenceAfterCommit(dto.getUserId());
+            Optional<NotificationPreference> existingOpt = preferenceRepository.findByUserId(dto.getUserId());
+
+            if (expectedVersion != null) {
+                checkVersion(dto.getUserId(), existingOpt.map(NotificationPreference::getVersion).orElse(null),
+                        expectedVersion);
+            }
+
+            if (existingOpt.isPresent()) {
+                NotificationPreference preference = existingOpt.get();
+                preference.setContactInfo(dto.getContactInfo());
+                preference.setEnabled(dto.isNotificationEnabled());
+                preference.setChannel(dto.getChannel());
+                return preferenceRepository.save(preference);
+            }
+            NotificationPreference newPref = NotificationPreference.builder()
+                    .userId(dto.getUserId())
+                    .enabled(dto.isNotificationEnabled())
+                    .contactInfo(dto.getContactInfo())
+                    .channel(dto.getChannel())
+                    .build();
 
-        return preferenceRepository.save(newPref);
+            return preferenceRepository.save(newPref);
+        });
     }
 
+    @Transactional(readOnly = true)
     public NotificationPreference getPreferenceByUserId(UUID userId) {
+        if (missingPreferenceCache.isMissing(userId)) {
+            throw new PreferenceNotFoundException(userId);
+        }
+
+        long stamp = missingPreferenceCache.stamp();
         return preferenceRepository.findByUserId(userId)
-                .orElseThrow(() -> new IllegalStateException(
-                        "Notification preference not found for user: " + userId
-                ));
+                .orElseThrow(() -> {
+                    // A lagging replica may not have the preference yet; only the primary's answer is cached.
+                    if (!ReadReplicaRoutingDataSource.isReplicaRead()) {
+                        missingPreferenceCache.markMissing(userId, stamp);
+                    }
+                    return new PreferenceNotFoundException(userId);
+                });
+    }
+
+    private void invalidateMissingPreferenceAfterCommit(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            missingPreferenceCache.invalidate(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                missingPreferenceCache.invalidate(userId);
+            }
+        });
     }
 
     @Transactional
     public Notification sendNotification(NotificationRequest notificationRequest) {
         UUID userId = notificationRequest.getUserId();
 
-        NotificationPreference userPreference = getPreferenceByUserId(userId);
+        NotificationPreference userPreference = getEnabledPreference(userId);
+        ChannelType channel = requireSupported(resolveChannel(notificationRequest, userPreference));
+        String recipient = userPreference.getContactInfo();
+        requireValidRecipient(channel, recipient);
+        boolean suppressed = channel.requiresRecipient() && suppressionList.isSuppressed(recipient);
 
-        if (!userPreference.isEnabled()) {
-            throw new IllegalArgumentException("User with id %s does not allow to receive notifications."
-                    .formatted(userId));
+        Notification notification = Notification.builder()
+                .subject(notificationRequest.getSubject())
+                .body(notificationRequest.getBody())
+                .createdOn(LocalDateTime.now())
+                .userId(userId)
+                .status(suppressed ? NotificationStatus.SUPPRESSED : NotificationStatus.QUEUED)
+                .build();
+
+        Notification savedNotification = notificationRepository.save(notification);
+        if (suppressed) {
+            sendStatistics.record(userId, SendOutcome.SUPPRESSED);
+            log.info("Notification [{}] not sent: recipient [{}] is suppressed", savedNotification.getId(), recipient);
+            return savedNotification;
         }
 
-        if (userPreference.getContactInfo() != null && !userPreference.getContactInfo().isBlank()) {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(userPreference.getContactInfo());
-            message.setSubject(notificationRequest.getSubject());
-            message.setText(notificationRequest.getBody());
+        // Delivery happens in OutboxRelay; the outbox row commits or rolls back together with the notification.
+        if (!channel.requiresRecipient() || (recipient != null && !recipient.isBlank())) {
+            OutboxMessage outboxMessage = OutboxMessage.builder()
+                    .notificationId(savedNotification.getId())
+                    .userId(userId)
+                    .channel(channel)
+                    .recipient(recipient)
+                    .subject(savedNotification.getSubject())
+                    .body(savedNotification.getBody())
+                    .availableAt(savedNotification.getCreatedOn())
+                    .createdOn(savedNotification.getCreatedOn())
+                    .build();
 
-            try {
-                mailSender.send(message);
-                log.info("Email sent to [{}]", userPreference.getContactInfo());
-            } catch (Exception e) {
-                log.warn("Failed to send email to [{}]: {}", userPreference.getContactInfo(), e.getMessage());
-            }
+            outboxMessageRepository.save(outboxMessage);
         }
 
-        Notification notification = Notification.builder()
+        return savedNotification;
+    }
+
+    @Transactional
+    public ScheduledNotification scheduleNotification(NotificationRequest notificationRequest) {
+        NotificationPreference userPreference = getEnabledPreference(notificationRequest.getUserId());
+        ChannelType channel = requireSupported(resolveChannel(notificationRequest, userPreference));
+        requireValidRecipient(channel, userPreference.getContactInfo());
+
+        ScheduledNotification scheduledNotification = ScheduledNotification.builder()
+                .userId(notificationRequest.getUserId())
                 .subject(notificationRequest.getSubject())
                 .body(notificationRequest.getBody())
+                .sendAt(notificationRequest.getSendAt())
                 .createdOn(LocalDateTime.now())
-                .userId(userId)
                 .build();
 
-        return notificationRepository.save(notification);
+        return scheduledNotificationRepository.save(scheduledNotification);
+    }
+
+    @Transactional
+    public Optional<Notification> sendScheduledNotification(UUID scheduledNotificationId) {
+        ScheduledNotification scheduledNotification =
+                scheduledNotificationRepository.findById(scheduledNotificationId).orElse(null);
+        // Removing the row is the claim: another instance that already removed it has sent it.
+        if (scheduledNotification == null
+                || scheduledNotificationRepository.deleteScheduled(scheduledNotificationId) == 0) {
+            return Optional.empty();
+        }
+
+        NotificationRequest notificationRequest = NotificationRequest.builder()
+                .userId(scheduledNotification.getUserId())
+                .subject(scheduledNotification.getSubject())
+                .body(scheduledNotification.getBody())
+                .build();
+
+        return Optional.of(sendNotification(notificationRequest));
     }
-    
+
+    @Transactional(readOnly = true)
     public List<Notification> getNotificationHistory(UUID userId) {
         return notificationRepository.findByUserId(userId);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    public List<NotificationSummary> getNotificationSummaries(UUID userId, int page, int size) {
+        return notificationRepository.findSummariesByUserId(userId, pageRequest(page, size));
+    }
+
+    @Transactional(readOnly = true)
+    public List<NotificationSummary> searchNotifications(UUID userId, String query, LocalDateTime from,
+                                                         LocalDateTime to, int page, int size) {
+        LocalDateTime lowerBound = from != null ? from : SEARCH_RANGE_START;
+        LocalDateTime upperBound = to != null ? to : SEARCH_RANGE_END;
+
+        return notificationRepository.search(userId, query, lowerBound, upperBound, pageRequest(page, size));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Notification> getNotification(UUID notificationId) {
+        return notificationRepository.findById(notificationId);
+    }
+
+    private static PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    private ChannelType resolveChannel(NotificationRequest notificationRequest, NotificationPreference preference) {
+        if (notificationRequest.getChannel() != null) {
+            return notificationRequest.getChannel();
+        }
+        if (preference.getChannel() != null) {
+            return preference.getChannel();
+        }
+        return deliveryProperties.getDefaultChannel();
+    }
+
+    /**
+     * Rejects a channel with no registered {@code DeliveryChannel} up front; accepted, it would only be
+     * retried by the outbox relay until dropped.
+     */
+    private ChannelType requireSupported(ChannelType channel) {
+        if (!deliveryDispatcher.supports(channel)) {
+            throw new UnsupportedChannelException(channel);
+        }
+        return channel;
+    }
+
+    /**
+     * A missing contact is tolerated (the notification is then only recorded), but one the channel could
+     * never deliver to is rejected rather than retried until the outbox gives up on it.
+     */
+    private void requireValidRecipient(ChannelType channel, String recipient) {
+        if (channel.requiresRecipient() && recipient != null && !recipient.isBlank()
+                && !deliveryDispatcher.acceptsRecipient(channel, recipient)) {
+            throw new InvalidRecipientException(channel, recipient);
+        }
+    }
+
+    private NotificationPreference getEnabledPreference(UUID userId) {
+        NotificationPreference userPreference = getPreferenceByUserId(userId);
+
+        if (!userPreference.isEnabled()) {
+            sendStatistics.record(userId, SendOutcome.DISABLED);
+            throw new NotificationsDisabledException(userId);
+        }
+
+        return userPreference;
+    }
+
     public NotificationPreference changeNotificationPreference(UUID userId, boolean enabled) {
-        NotificationPreference preference = getPreferenceByUserId(userId);
-        preference.setEnabled(enabled);
-        return preferenceRepository.save(preference);
+        return changeNotificationPreference(userId, enabled, null);
+    }
+
+    public NotificationPreference changeNotificationPreference(UUID userId, boolean enabled, Long expectedVersion) {
+        return writePreference(userId, expectedVersion, () -> {
+            NotificationPreference preference = getPreferenceByUserId(userId);
+            if (expectedVersion != null) {
+                checkVersion(userId, preference.getVersion(), expectedVersion);
+            }
+
+            preference.setEnabled(enabled);
+            return preferenceRepository.save(preference);
+        });
+    }
+
+    /**
+     * Runs {@code write} in its own transaction, repeating it on a fresh read if another writer committed
+     * first, whether by bumping the version or by creating the same preference (a duplicate key on insert).
+     * Conditional writes are not repeated: the condition no longer holds. Any other integrity violation is
+     * not a race and propagates as is.
+     */
+    private NotificationPreference writePreference(UUID userId, Long expectedVersion,
+                                                   Supplier<NotificationPreference> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> write.get());
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (e instanceof DataIntegrityViolationException violation && !isDuplicateKey(violation)) {
+                    throw e;
+                }
+                if (expectedVersion != null) {
+                    throw new PreferenceVersionMismatchException(userId);
+                }
+                if (attempt == MAX_PREFERENCE_WRITE_ATTEMPTS) {
+                    throw new PreferenceUpdateConflictException(userId, attempt);
+                }
+                log.debug("Concurrent update of preference for user [{}], attempt {}", userId, attempt);
+            }
+        }
+    }
+
+    /**
+     * MySQL's duplicate entry (1062) is classified as UNIQUE by the dialect; 23505 is the standard SQLSTATE
+     * other databases use for it.
+     */
+    private static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        return e.getCause() instanceof ConstraintViolationException violation
+                && (violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE
+                || "23505".equals(violation.getSQLState()));
+    }
+
+    private static void checkVersion(UUID userId, Long currentVersion, long expectedVersion) {
+        if (currentVersion == null || currentVersion != expectedVersion) {
+            throw new PreferenceVersionMismatchException(userId);
+        }
     }
 }
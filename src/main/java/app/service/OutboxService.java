@@ -0,0 +1,106 @@
+package app.service;
+
+import app.model.ChannelType;
+import app.model.OutboxMessage;
+import app.repository.OutboxMessageRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class OutboxService {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final Duration maxRetryDelay;
+    private final int maxAttempts;
+
+    @Autowired
+    public OutboxService(OutboxMessageRepository outboxMessageRepository,
+                         @Value("${notifications.outbox.lease:2m}") Duration lease,
+                         @Value("${notifications.outbox.retry-delay:5s}") Duration retryDelay,
+                         @Value("${notifications.outbox.max-retry-delay:10m}") Duration maxRetryDelay,
+                         @Value("${notifications.outbox.max-attempts:10}") int maxAttempts) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.lease = lease;
+        this.retryDelay = retryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Claims up to {@code batchSize} messages on the given channels for {@code leaseOwner}. The rows stay
+     * locked only for the duration of this transaction; after that the lease is what keeps other workers away.
+     */
+    @Transactional
+    public List<OutboxMessage> claim(String leaseOwner, int batchSize, Collection<ChannelType> channels) {
+        if (channels.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> claimed = outboxMessageRepository
+                .findByChannelInAndAvailableAtLessThanEqualOrderByAvailableAtAsc(channels, now,
+                        PageRequest.of(0, batchSize));
+
+        for (OutboxMessage message : claimed) {
+            message.setLeaseOwner(leaseOwner);
+            message.setAvailableAt(now.plus(lease));
+        }
+
+        return claimed;
+    }
+
+    @Transactional
+    public void acknowledge(Collection<UUID> ids, String leaseOwner) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        int acknowledged = outboxMessageRepository.acknowledge(ids, leaseOwner);
+        if (acknowledged < ids.size()) {
+            log.warn("{} outbox messages were delivered after their lease [{}] had expired",
+                    ids.size() - acknowledged, leaseOwner);
+        }
+    }
+
+    /**
+     * Schedules another attempt, or drops the message once it has used up its attempts.
+     *
+     * @return whether the message will be retried
+     */
+    @Transactional
+    public boolean release(OutboxMessage message, String leaseOwner) {
+        if (message.getAttempts() + 1 >= maxAttempts) {
+            log.error("Giving up on outbox message [{}] for notification [{}] after {} attempts",
+                    message.getId(), message.getNotificationId(), message.getAttempts() + 1);
+            outboxMessageRepository.acknowledge(List.of(message.getId()), leaseOwner);
+            return false;
+        }
+
+        long backoffMillis = Math.min(retryDelay.toMillis() << Math.min(message.getAttempts(), 20),
+                maxRetryDelay.toMillis());
+        outboxMessageRepository.release(message.getId(), leaseOwner,
+                LocalDateTime.now().plus(Duration.ofMillis(backoffMillis)));
+        return true;
+    }
+
+    /**
+     * Hands a message that never reached its channel back to the outbox without using up an attempt.
+     */
+    @Transactional
+    public void postpone(OutboxMessage message, String leaseOwner) {
+        outboxMessageRepository.postpone(message.getId(), leaseOwner, LocalDateTime.now().plus(retryDelay));
+    }
+}
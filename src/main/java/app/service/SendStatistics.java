@@ -0,0 +1,124 @@
+package app.service;
+
+import app.model.SendOutcome;
+import app.model.SendStatisticsRollup;
+import app.model.StatisticsGranularity;
+import app.repository.SendStatisticsRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Send outcomes per user and hour. The send path only bumps a {@link LongAdder}; a scheduled flush adds
+ * what has accumulated since the previous flush to the hourly rows in {@code send_statistics_rollup}.
+ * Reads go to those rows only, so their cost depends on the requested range and not on the size of the
+ * notification table. Counts not yet flushed (at most one flush interval) are not visible to reads.
+ */
+@Slf4j
+@Service
+public class SendStatistics {
+
+    private final SendStatisticsRollupRepository rollupRepository;
+    private final Clock clock;
+    private final Map<Key, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SendStatistics(SendStatisticsRollupRepository rollupRepository) {
+        this(rollupRepository, Clock.systemDefaultZone());
+    }
+
+    SendStatistics(SendStatisticsRollupRepository rollupRepository, Clock clock) {
+        this.rollupRepository = rollupRepository;
+        this.clock = clock;
+    }
+
+    public void record(UUID userId, SendOutcome outcome) {
+        LocalDateTime bucketStart = LocalDateTime.now(clock).truncatedTo(ChronoUnit.HOURS);
+        counter(new Key(bucketStart, userId, outcome)).increment();
+        counter(new Key(bucketStart, SendStatisticsRollup.GLOBAL_USER_ID, outcome)).increment();
+    }
+
+    private LongAdder counter(Key key) {
+        // get() first: after the first send of the hour this never takes the map's bin lock.
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, ignored -> new LongAdder());
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${notifications.statistics.flush-interval:10s}")
+    public void flush() {
+        // Counters of the current and previous hour stay in place: a sender may still hold one it looked up
+        // just before the hour turned. Older ones can no longer be incremented.
+        LocalDateTime retainFrom = LocalDateTime.now(clock).truncatedTo(ChronoUnit.HOURS).minusHours(1);
+        int failed = 0;
+
+        for (Map.Entry<Key, LongAdder> entry : counters.entrySet()) {
+            Key key = entry.getKey();
+            LongAdder counter = entry.getValue();
+            long delta = counter.sumThenReset();
+
+            if (delta > 0) {
+                try {
+                    rollupRepository.increment(key.bucketStart(), key.userId(), key.outcome().name(), delta);
+                } catch (RuntimeException e) {
+                    // Put the counts back for the next flush.
+                    counter.add(delta);
+                    failed++;
+                    continue;
+                }
+            }
+            if (key.bucketStart().isBefore(retainFrom)) {
+                counters.remove(key, counter);
+            }
+        }
+
+        if (failed > 0) {
+            log.warn("Could not flush {} send statistics counters; they are retried on the next flush", failed);
+        }
+    }
+
+    /**
+     * Counts per bucket for {@code userId} ({@code null} for all users) in [{@code from}, {@code to}).
+     */
+    public List<Bucket> getStatistics(UUID userId, LocalDateTime from, LocalDateTime to,
+                                      StatisticsGranularity granularity) {
+        UUID rollupUserId = userId != null ? userId : SendStatisticsRollup.GLOBAL_USER_ID;
+        List<SendStatisticsRollup> rollups = rollupRepository
+                .findByUserIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+                        rollupUserId, from.truncatedTo(ChronoUnit.HOURS), to);
+
+        Map<LocalDateTime, Map<SendOutcome, Long>> buckets = new TreeMap<>();
+        for (SendStatisticsRollup rollup : rollups) {
+            buckets.computeIfAbsent(granularity.bucketOf(rollup.getBucketStart()),
+                            ignored -> new EnumMap<>(SendOutcome.class))
+                    .merge(rollup.getOutcome(), rollup.getTotal(), Long::sum);
+        }
+
+        return buckets.entrySet().stream()
+                .map(bucket -> new Bucket(bucket.getKey(), bucket.getValue()))
+                .toList();
+    }
+
+    public record Bucket(LocalDateTime bucketStart, Map<SendOutcome, Long> totals) {
+
+        public long get(SendOutcome outcome) {
+            return totals.getOrDefault(outcome, 0L);
+        }
+    }
+
+    private record Key(LocalDateTime bucketStart, UUID userId, SendOutcome outcome) {
+    }
+}
@@ -0,0 +1,229 @@
+package app.service;
+
+import app.model.SuppressedRecipient;
+import app.model.SuppressionReason;
+import app.repository.SuppressedRecipientRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Suppressed recipients, persisted in {@code suppressed_recipient} and mirrored in memory as 64-bit
+ * hashes of the normalised address. A lookup on the send path is a probe into a primitive array; with
+ * 64-bit hashes a false positive is practically impossible even at tens of millions of entries.
+ * Every instance follows the table by {@code updatedOn}, which is how bounces recorded by one
+ * instance's delivery workers reach the others.
+ * <p>
+ * {@code updatedOn} comes from the writer's clock and is taken before commit, so a row can become visible
+ * with a timestamp behind this instance's cursor. Each sync therefore re-reads from {@code sync-overlap}
+ * before the cursor; re-applying a row is harmless because a row always carries its current state. The
+ * overlap has to cover the longest suppression transaction plus the clock skew between instances.
+ */
+@Slf4j
+@Service
+public class SuppressionList {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final SuppressedRecipientRepository suppressedRecipientRepository;
+    private final int pageSize;
+    private final Duration syncOverlap;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongHashSet hashes;
+
+    private LocalDateTime syncedUpdatedOn = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    public SuppressionList(SuppressedRecipientRepository suppressedRecipientRepository,
+                           @Value("${notifications.suppression.expected-size:100000}") int expectedSize,
+                           @Value("${notifications.suppression.sync-page-size:5000}") int pageSize,
+                           @Value("${notifications.suppression.sync-overlap:5m}") Duration syncOverlap) {
+        this.suppressedRecipientRepository = suppressedRecipientRepository;
+        this.pageSize = pageSize;
+        this.syncOverlap = syncOverlap;
+        this.hashes = new LongHashSet(expectedSize);
+    }
+
+    @PostConstruct
+    void load() {
+        sync();
+        log.info("Loaded {} suppressed recipients", size());
+    }
+
+    public boolean isSuppressed(String address) {
+        if (address == null || address.isBlank()) {
+            return false;
+        }
+
+        long hash = hash(address);
+        lock.readLock().lock();
+        try {
+            return hashes.contains(hash);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Transactional
+    public int suppress(Collection<String> addresses, SuppressionReason reason) {
+        return change(addresses, reason, true);
+    }
+
+    @Transactional
+    public int unsuppress(Collection<String> addresses) {
+        return change(addresses, null, false);
+    }
+
+    /**
+     * Entry point for the delivery layer: a permanent failure for this address. Every instance's delivery
+     * workers can bounce the same address at once, so this is a single upsert rather than a read and a save.
+     */
+    @Transactional
+    public void recordBounce(String address) {
+        if (address == null || address.isBlank()) {
+            return;
+        }
+
+        log.info("Suppressing [{}] after a permanent delivery failure", address);
+        SuppressedRecipient recipient = SuppressedRecipient.builder()
+                .address(normalise(address))
+                .reason(SuppressionReason.HARD_BOUNCE)
+                .active(true)
+                .updatedOn(LocalDateTime.now())
+                .build();
+        suppressedRecipientRepository.upsertActive(recipient.getAddress(), recipient.getReason().name(),
+                recipient.getUpdatedOn());
+        applyAfterCommit(List.of(recipient));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return hashes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies every change made since the last sync, by this or any other instance.
+     */
+    @Scheduled(fixedDelayString = "${notifications.suppression.sync-interval:30s}")
+    public synchronized void sync() {
+        LocalDateTime afterUpdatedOn = syncedUpdatedOn.minus(syncOverlap);
+        String afterAddress = "";
+        List<SuppressedRecipient> changes;
+        do {
+            changes = suppressedRecipientRepository.findChangesAfter(afterUpdatedOn, afterAddress,
+                    PageRequest.of(0, pageSize));
+            changes.forEach(this::apply);
+
+            if (!changes.isEmpty()) {
+                SuppressedRecipient last = changes.get(changes.size() - 1);
+                afterUpdatedOn = last.getUpdatedOn();
+                afterAddress = last.getAddress();
+            }
+        } while (changes.size() == pageSize);
+
+        if (afterUpdatedOn.isAfter(syncedUpdatedOn)) {
+            syncedUpdatedOn = afterUpdatedOn;
+        }
+    }
+
+    private int change(Collection<String> addresses, SuppressionReason reason, boolean active) {
+        Set<String> normalised = addresses.stream()
+                .filter(address -> address != null && !address.isBlank())
+                .map(SuppressionList::normalise)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (normalised.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, SuppressedRecipient> existing = suppressedRecipientRepository.findAllById(normalised).stream()
+                .collect(Collectors.toMap(SuppressedRecipient::getAddress, Function.identity()));
+
+        List<SuppressedRecipient> changed = new ArrayList<>(normalised.size());
+        for (String address : normalised) {
+            SuppressedRecipient recipient = existing.get(address);
+            if (recipient == null) {
+                if (!active) {
+                    continue;
+                }
+                recipient = SuppressedRecipient.builder()
+                        .address(address)
+                        .reason(reason)
+                        .newEntry(true)
+                        .build();
+            } else if (active) {
+                recipient.setReason(reason);
+            }
+            recipient.setActive(active);
+            recipient.setUpdatedOn(now);
+            changed.add(recipient);
+        }
+
+        suppressedRecipientRepository.saveAll(changed);
+        applyAfterCommit(changed);
+        return changed.size();
+    }
+
+    private void applyAfterCommit(List<SuppressedRecipient> changed) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changed.forEach(this::apply);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changed.forEach(SuppressionList.this::apply);
+            }
+        });
+    }
+
+    private void apply(SuppressedRecipient recipient) {
+        long hash = hash(recipient.getAddress());
+        lock.writeLock().lock();
+        try {
+            if (recipient.isActive()) {
+                hashes.add(hash);
+            } else {
+                hashes.remove(hash);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String normalise(String address) {
+        return address.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static long hash(String address) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : normalise(address).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        // Zero marks an empty slot in LongHashSet.
+        return hash == 0 ? 1 : hash;
+    }
+}
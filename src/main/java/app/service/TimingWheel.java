@@ -0,0 +1,70 @@
+package app.service;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Hashed timing wheel. Each slot covers one tick; an entry whose deadline is more than one rotation
+ * away simply stays in its slot until a later pass finds it due. Entries are de-duplicated by key.
+ */
+public class TimingWheel<K, V> {
+
+    private final long tickMillis;
+    private final List<List<Entry<K, V>>> slots;
+    private final Set<K> keys = new HashSet<>();
+    private long cursor;
+
+    public TimingWheel(Duration tick, int slotCount, long startMillis) {
+        this.tickMillis = tick.toMillis();
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.cursor = startMillis / tickMillis;
+    }
+
+    public synchronized boolean add(K key, V value, long deadlineMillis) {
+        if (!keys.add(key)) {
+            return false;
+        }
+        long tick = Math.max(deadlineMillis / tickMillis, cursor);
+        slotFor(tick).add(new Entry<>(key, value, deadlineMillis));
+        return true;
+    }
+
+    /**
+     * Removes and returns every entry due at {@code nowMillis}. The current tick is kept as the cursor,
+     * because its slot may still hold entries due later within the same tick.
+     */
+    public synchronized List<V> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        long last = Math.min(target, cursor + slots.size() - 1);
+        List<V> due = new ArrayList<>();
+
+        for (long tick = cursor; tick <= last; tick++) {
+            Iterator<Entry<K, V>> iterator = slotFor(tick).iterator();
+            while (iterator.hasNext()) {
+                Entry<K, V> entry = iterator.next();
+                if (entry.deadlineMillis() <= nowMillis) {
+                    iterator.remove();
+                    keys.remove(entry.key());
+                    due.add(entry.value());
+                }
+            }
+        }
+
+        cursor = Math.max(cursor, target);
+        return due;
+    }
+
+    public synchronized int size() {
+        return keys.size();
+    }
+
+    private List<Entry<K, V>> slotFor(long tick) {
+        return slots.get((int) (tick % slots.size()));
+    }
+
+    private record Entry<K, V>(K key, V value, long deadlineMillis) {
+    }
+}
@@ -0,0 +1,62 @@
+package app.web;
+
+/**
+ * AIMD concurrency limit. Every request that completes under the latency target adds {@code 1/limit},
+ * so the limit grows by about one per round of requests; a request that is slower than the target or
+ * fails multiplies the limit by {@code backoffRatio}. Requests beyond the current limit are refused
+ * instead of being queued.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyTargetNanos, double backoffRatio) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.backoffRatio = backoffRatio;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void onSuccess(long latencyNanos) {
+        inFlight--;
+        if (latencyNanos > latencyTargetNanos) {
+            decrease();
+        } else if (inFlight * 2 >= (int) limit) {
+            // Only grow while the current limit is actually being used.
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public synchronized void onDropped() {
+        inFlight--;
+        decrease();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
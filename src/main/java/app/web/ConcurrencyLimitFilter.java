@@ -0,0 +1,89 @@
+package app.web;
+
+import app.web.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Sheds load on {@code POST /api/v1/notifications}: requests over the adaptive limit get an immediate
+ * 503 with {@code Retry-After} rather than waiting for a thread. Requests marked with the priority
+ * header bypass the limiter.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public static final String PRIORITY_HEADER = "X-Notification-Priority";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter rejectedCounter;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                  Counter rejectedCounter,
+                                  ObjectMapper objectMapper,
+                                  Duration retryAfter) {
+        this.limiter = limiter;
+        this.rejectedCounter = rejectedCounter;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds(retryAfter));
+    }
+
+    /**
+     * Retry-After only carries whole seconds; rounding down would turn a sub-second backoff into an
+     * immediate retry.
+     */
+    static long retryAfterSeconds(Duration retryAfter) {
+        long seconds = retryAfter.toSeconds() + (retryAfter.toNanosPart() > 0 ? 1 : 0);
+        return Math.max(1, seconds);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || "high".equalsIgnoreCase(request.getHeader(PRIORITY_HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            rejectedCounter.increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            chain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            if (dropped) {
+                limiter.onDropped();
+            } else {
+                limiter.onSuccess(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Notification service is overloaded, retry later.");
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
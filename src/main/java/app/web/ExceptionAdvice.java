@@ -1,5 +1,11 @@
 package app.web;
 
+import app.exception.InvalidRecipientException;
+import app.exception.NotificationsDisabledException;
+import app.exception.PreferenceNotFoundException;
+import app.exception.PreferenceUpdateConflictException;
+import app.exception.PreferenceVersionMismatchException;
+import app.exception.UnsupportedChannelException;
 import app.web.dto.ErrorResponse;
 import io.swagger.v3.oas.annotations.Hidden;
 import org.springframework.http.HttpStatus;
@@ -22,4 +28,52 @@ public class ExceptionAdvice {
 
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
+
+    @ExceptionHandler(PreferenceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handlePreferenceNotFound(PreferenceNotFoundException exception) {
+
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.NOT_FOUND.value(), exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    @ExceptionHandler(NotificationsDisabledException.class)
+    public ResponseEntity<ErrorResponse> handleNotificationsDisabled(NotificationsDisabledException exception) {
+
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT.value(), exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    @ExceptionHandler(PreferenceVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handlePreferenceVersionMismatch(PreferenceVersionMismatchException exception) {
+
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.PRECONDITION_FAILED.value(), exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    @ExceptionHandler(PreferenceUpdateConflictException.class)
+    public ResponseEntity<ErrorResponse> handlePreferenceUpdateConflict(PreferenceUpdateConflictException exception) {
+
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT.value(), exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    @ExceptionHandler(UnsupportedChannelException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedChannel(UnsupportedChannelException exception) {
+
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidRecipientException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRecipient(InvalidRecipientException exception) {
+
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
 }
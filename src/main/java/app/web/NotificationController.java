@@ -1,20 +1,27 @@
 package app.web;
 
+import app.exception.PreferenceVersionMismatchException;
 import app.model.Notification;
 import app.model.NotificationPreference;
+import app.model.ScheduledNotification;
+import app.service.NotificationScheduler;
 import app.service.NotificationService;
 import app.web.dto.NotificationPreferenceResponse;
 import app.web.dto.NotificationRequest;
 import app.web.dto.NotificationResponse;
+import app.web.dto.NotificationSummaryResponse;
 import app.web.dto.UpsertNotificationPreference;
 import app.web.mapper.DtoMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,26 +31,31 @@ import java.util.UUID;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationScheduler notificationScheduler;
 
     @Autowired
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService,
+                                  NotificationScheduler notificationScheduler) {
         this.notificationService = notificationService;
+        this.notificationScheduler = notificationScheduler;
     }
 
     @PostMapping("/preferences")
     @Operation(summary = "Create new Notification Preference",
-            description = "Returns the created notification preference.")
+            description = "Returns the created notification preference. With If-Match, only replaces that version.")
     public ResponseEntity<NotificationPreferenceResponse>
-    upsertNotificationPreference(@RequestBody UpsertNotificationPreference upsertNotificationPreference) {
+    upsertNotificationPreference(@RequestBody UpsertNotificationPreference upsertNotificationPreference,
+                                 @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        NotificationPreference notificationPreference =
-                notificationService.upsertPreference(upsertNotificationPreference);
+        NotificationPreference notificationPreference = notificationService.upsertPreference(
+                upsertNotificationPreference, expectedVersion(upsertNotificationPreference.getUserId(), ifMatch));
 
         NotificationPreferenceResponse responseDto =
                 DtoMapper.fromNotificationPreference(notificationPreference);
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
+                .eTag(eTag(notificationPreference))
                 .body(responseDto);
     }
 
@@ -60,13 +72,24 @@ public class NotificationController {
 
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(eTag(notificationPreference))
                 .body(responseDto);
     }
 
     @PostMapping
-    public ResponseEntity<NotificationResponse>
+    @Operation(summary = "Send or schedule a Notification",
+            description = "Sends immediately, or returns 202 with the scheduled entry when sendAt is in the future.")
+    public ResponseEntity<?>
     sendNotification(@RequestBody NotificationRequest notificationRequest) {
 
+        if (notificationRequest.getSendAt() != null && notificationRequest.getSendAt().isAfter(LocalDateTime.now())) {
+            ScheduledNotification scheduledNotification = notificationScheduler.schedule(notificationRequest);
+
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(DtoMapper.fromScheduledNotification(scheduledNotification));
+        }
+
         Notification notification = notificationService.sendNotification(notificationRequest);
 
         NotificationResponse response = DtoMapper.fromNotification(notification);
@@ -89,22 +112,97 @@ public class NotificationController {
                 .body(notificationHistory);
     }
 
+    @GetMapping("/summaries")
+    @Operation(summary = "List Notification summaries",
+            description = "Returns id, subject, date and a short body preview, newest first, one page at a time.")
+    public ResponseEntity<List<NotificationSummaryResponse>>
+    getNotificationSummaries(@RequestParam(name = "userId") UUID userId,
+                             @RequestParam(name = "page", defaultValue = "0") int page,
+                             @RequestParam(name = "size", defaultValue = "20") int size) {
+
+        List<NotificationSummaryResponse> summaries =
+                notificationService.getNotificationSummaries(userId, page, size)
+                        .stream().map(DtoMapper::fromNotificationSummary).toList();
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(summaries);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search Notification history",
+            description = "Ranked full-text search over subject and body of one user's notifications.")
+    public ResponseEntity<List<NotificationSummaryResponse>>
+    searchNotifications(@RequestParam(name = "userId") UUID userId,
+                        @RequestParam(name = "q") String query,
+                        @RequestParam(name = "from", required = false)
+                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                        @RequestParam(name = "to", required = false)
+                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                        @RequestParam(name = "page", defaultValue = "0") int page,
+                        @RequestParam(name = "size", defaultValue = "20") int size) {
+
+        List<NotificationSummaryResponse> results =
+                notificationService.searchNotifications(userId, query, from, to, page, size)
+                        .stream().map(DtoMapper::fromNotificationSummary).toList();
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(results);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a Notification", description = "Returns the notification including its full body.")
+    public ResponseEntity<NotificationResponse> getNotification(@PathVariable(name = "id") UUID id) {
+
+        return notificationService.getNotification(id)
+                .map(DtoMapper::fromNotification)
+                .map(response -> ResponseEntity.status(HttpStatus.OK).body(response))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @PutMapping("/preferences")
     public ResponseEntity<NotificationPreferenceResponse>
     changeNotificationPreference(@RequestParam(name = "userId") UUID userId,
-                                 @RequestParam(name = "enabled") boolean enabled) {
+                                 @RequestParam(name = "enabled") boolean enabled,
+                                 @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         NotificationPreference notificationPreference =
-                notificationService.changeNotificationPreference(userId, enabled);
+                notificationService.changeNotificationPreference(userId, enabled, expectedVersion(userId, ifMatch));
 
         NotificationPreferenceResponse responseDto =
                 DtoMapper.fromNotificationPreference(notificationPreference);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(eTag(notificationPreference))
                 .body(responseDto);
     }
 
+    private static String eTag(NotificationPreference preference) {
+        return "\"" + preference.getVersion() + "\"";
+    }
+
+    /**
+     * The version named by a strong entity tag as produced by {@link #eTag}; {@code null} without a
+     * condition. A weak or foreign tag can never match.
+     */
+    private static Long expectedVersion(UUID userId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // Falls through to the mismatch below.
+            }
+        }
+        throw new PreferenceVersionMismatchException(userId);
+    }
+
     @GetMapping("/test")
     public ResponseEntity<String> test(@RequestParam(defaultValue = "World") String name) {
         return ResponseEntity.ok("Hello, " + name + " from Notification Service!");
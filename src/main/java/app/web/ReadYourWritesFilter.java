@@ -0,0 +1,28 @@
+package app.web;
+
+import app.config.ReadReplicaRoutingDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Scopes the primary pin of {@link ReadReplicaRoutingDataSource} to one request: reads after a write in
+ * the same request go to the primary, the next request on this thread starts on the replicas again.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReadReplicaRoutingDataSource.clearPrimaryPin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadReplicaRoutingDataSource.clearPrimaryPin();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package app.web;
+
+import app.model.StatisticsGranularity;
+import app.service.SendStatistics;
+import app.web.dto.SendStatisticsResponse;
+import app.web.mapper.DtoMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/notifications/stats")
+@Tag(name = "Notification Statistics", description = "Send outcomes per hour or day")
+public class SendStatisticsController {
+
+    private final SendStatistics sendStatistics;
+
+    @Autowired
+    public SendStatisticsController(SendStatistics sendStatistics) {
+        this.sendStatistics = sendStatistics;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get send statistics",
+            description = "Sent, failed, disabled and suppressed counts for one user, or all users when userId is omitted. "
+                    + "Defaults to the last 24 hours.")
+    public ResponseEntity<List<SendStatisticsResponse>>
+    getStatistics(@RequestParam(name = "userId", required = false) UUID userId,
+                  @RequestParam(name = "from", required = false)
+                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                  @RequestParam(name = "to", required = false)
+                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                  @RequestParam(name = "granularity", defaultValue = "HOUR") StatisticsGranularity granularity) {
+
+        LocalDateTime upperBound = to != null ? to : LocalDateTime.now();
+        LocalDateTime lowerBound = from != null ? from : upperBound.minusDays(1);
+
+        List<SendStatisticsResponse> responseDto = sendStatistics
+                .getStatistics(userId, lowerBound, upperBound, granularity)
+                .stream()
+                .map(DtoMapper::fromSendStatisticsBucket)
+                .toList();
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(responseDto);
+    }
+}
@@ -0,0 +1,61 @@
+package app.web;
+
+import app.model.SuppressionReason;
+import app.service.SuppressionList;
+import app.web.dto.SuppressionRequest;
+import app.web.dto.SuppressionResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/suppressions")
+@Tag(name = "Suppression Management", description = "Recipients that must not be contacted")
+public class SuppressionController {
+
+    private final SuppressionList suppressionList;
+
+    @Autowired
+    public SuppressionController(SuppressionList suppressionList) {
+        this.suppressionList = suppressionList;
+    }
+
+    @PostMapping
+    @Operation(summary = "Suppress recipients",
+            description = "Adds the addresses to the suppression list; returns how many entries changed.")
+    public ResponseEntity<SuppressionResponse> suppress(@RequestBody @Valid SuppressionRequest suppressionRequest) {
+
+        SuppressionReason reason = suppressionRequest.getReason() != null
+                ? suppressionRequest.getReason()
+                : SuppressionReason.MANUAL;
+        int changed = suppressionList.suppress(suppressionRequest.getAddresses(), reason);
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(SuppressionResponse.builder().changed(changed).build());
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Remove suppressions",
+            description = "Removes the addresses from the suppression list; returns how many entries changed.")
+    public ResponseEntity<SuppressionResponse> unsuppress(@RequestBody @Valid SuppressionRequest suppressionRequest) {
+
+        int changed = suppressionList.unsuppress(suppressionRequest.getAddresses());
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(SuppressionResponse.builder().changed(changed).build());
+    }
+
+    @GetMapping
+    public ResponseEntity<Void> isSuppressed(@RequestParam(name = "address") String address) {
+
+        return suppressionList.isSuppressed(address)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+}
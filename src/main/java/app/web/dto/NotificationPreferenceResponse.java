@@ -1,5 +1,6 @@
 package app.web.dto;
 
+import app.model.ChannelType;
 import lombok.Builder;
 import lombok.Data;
 
@@ -12,4 +13,5 @@ public class NotificationPreferenceResponse {
     private UUID userId;
     private boolean enabled;
     private String contactInfo;
+    private ChannelType channel;
 }
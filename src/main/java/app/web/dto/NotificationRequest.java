@@ -1,10 +1,12 @@
 package app.web.dto;
 
+import app.model.ChannelType;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
@@ -21,4 +23,8 @@ public class NotificationRequest {
     private String body;
 
     private String contactInfo;
+
+    private LocalDateTime sendAt;
+
+    private ChannelType channel;
 }
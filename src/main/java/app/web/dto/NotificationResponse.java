@@ -1,5 +1,6 @@
 package app.web.dto;
 
+import app.model.NotificationStatus;
 import lombok.Builder;
 import lombok.Data;
 
@@ -15,4 +16,5 @@ public class NotificationResponse {
     private String subject;
     private String body;
     private LocalDateTime createdOn;
+    private NotificationStatus status;
 }
\ No newline at end of file
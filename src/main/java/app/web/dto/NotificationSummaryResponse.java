@@ -0,0 +1,17 @@
+package app.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class NotificationSummaryResponse {
+
+    private UUID id;
+    private String subject;
+    private LocalDateTime createdOn;
+    private String bodyPreview;
+}
@@ -0,0 +1,17 @@
+package app.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class ScheduledNotificationResponse {
+
+    private UUID id;
+    private UUID userId;
+    private String subject;
+    private LocalDateTime sendAt;
+}
@@ -0,0 +1,17 @@
+package app.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class SendStatisticsResponse {
+
+    private LocalDateTime bucketStart;
+    private long sent;
+    private long failed;
+    private long disabled;
+    private long suppressed;
+}
@@ -0,0 +1,18 @@
+package app.web.dto;
+
+import app.model.SuppressionReason;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class SuppressionRequest {
+
+    @NotEmpty
+    private List<String> addresses;
+
+    private SuppressionReason reason;
+}
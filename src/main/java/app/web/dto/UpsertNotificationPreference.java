@@ -1,5 +1,6 @@
 package app.web.dto;
 
+import app.model.ChannelType;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Data;
@@ -16,4 +17,6 @@ public class UpsertNotificationPreference {
     private String contactInfo;
 
     private boolean notificationEnabled;
+
+    private ChannelType channel;
 }
@@ -2,8 +2,15 @@ package app.web.mapper;
 
 import app.model.Notification;
 import app.model.NotificationPreference;
+import app.model.NotificationSummary;
+import app.model.ScheduledNotification;
+import app.model.SendOutcome;
+import app.service.SendStatistics;
 import app.web.dto.NotificationPreferenceResponse;
 import app.web.dto.NotificationResponse;
+import app.web.dto.NotificationSummaryResponse;
+import app.web.dto.ScheduledNotificationResponse;
+import app.web.dto.SendStatisticsResponse;
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
@@ -15,6 +22,7 @@ public class DtoMapper {
                 .userId(entity.getUserId())
                 .contactInfo(entity.getContactInfo())
                 .enabled(entity.isEnabled())
+                .channel(entity.getChannel())
                 .build();
     }
 
@@ -26,6 +34,38 @@ public class DtoMapper {
                 .subject(entity.getSubject())
                 .body(entity.getBody())
                 .createdOn(entity.getCreatedOn())
+                .status(entity.getStatus())
+                .build();
+    }
+
+    public static NotificationSummaryResponse fromNotificationSummary(NotificationSummary summary) {
+
+        return NotificationSummaryResponse.builder()
+                .id(summary.getId())
+                .subject(summary.getSubject())
+                .createdOn(summary.getCreatedOn())
+                .bodyPreview(summary.getBodyPreview())
+                .build();
+    }
+
+    public static ScheduledNotificationResponse fromScheduledNotification(ScheduledNotification entity) {
+
+        return ScheduledNotificationResponse.builder()
+                .id(entity.getId())
+                .userId(entity.getUserId())
+                .subject(entity.getSubject())
+                .sendAt(entity.getSendAt())
+                .build();
+    }
+
+    public static SendStatisticsResponse fromSendStatisticsBucket(SendStatistics.Bucket bucket) {
+
+        return SendStatisticsResponse.builder()
+                .bucketStart(bucket.bucketStart())
+                .sent(bucket.get(SendOutcome.SENT))
+                .failed(bucket.get(SendOutcome.FAILED))
+                .disabled(bucket.get(SendOutcome.DISABLED))
+                .suppressed(bucket.get(SendOutcome.SUPPRESSED))
                 .build();
     }
 }
@@ -0,0 +1,40 @@
+package app.web.serializer;
+
+import app.web.dto.NotificationPreferenceResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+import static app.web.serializer.SerializerSupport.*;
+
+@JsonComponent
+public class NotificationPreferenceResponseSerializer extends StdSerializer<NotificationPreferenceResponse> {
+
+    private static final SerializedString USER_ID = new SerializedString("userId");
+    private static final SerializedString ENABLED = new SerializedString("enabled");
+    private static final SerializedString CONTACT_INFO = new SerializedString("contactInfo");
+    private static final SerializedString CHANNEL = new SerializedString("channel");
+
+    public NotificationPreferenceResponseSerializer() {
+        super(NotificationPreferenceResponse.class);
+    }
+
+    @Override
+    public void serialize(NotificationPreferenceResponse value, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(value);
+        generator.writeFieldName(USER_ID);
+        writeUuid(generator, value.getUserId());
+        generator.writeFieldName(ENABLED);
+        generator.writeBoolean(value.isEnabled());
+        generator.writeFieldName(CONTACT_INFO);
+        writeString(generator, value.getContactInfo());
+        generator.writeFieldName(CHANNEL);
+        writeString(generator, value.getChannel() == null ? null : value.getChannel().name());
+        generator.writeEndObject();
+    }
+}
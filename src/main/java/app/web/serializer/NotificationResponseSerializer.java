@@ -0,0 +1,50 @@
+package app.web.serializer;
+
+import app.web.dto.NotificationResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+import static app.web.serializer.SerializerSupport.*;
+
+/**
+ * Writes {@link NotificationResponse} field by field with pre-encoded names, instead of going through
+ * bean introspection and per-property serializers. Output is identical to the reflective default.
+ */
+@JsonComponent
+public class NotificationResponseSerializer extends StdSerializer<NotificationResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString USER_ID = new SerializedString("userId");
+    private static final SerializedString SUBJECT = new SerializedString("subject");
+    private static final SerializedString BODY = new SerializedString("body");
+    private static final SerializedString CREATED_ON = new SerializedString("createdOn");
+    private static final SerializedString STATUS = new SerializedString("status");
+
+    public NotificationResponseSerializer() {
+        super(NotificationResponse.class);
+    }
+
+    @Override
+    public void serialize(NotificationResponse value, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(value);
+        generator.writeFieldName(ID);
+        writeUuid(generator, value.getId());
+        generator.writeFieldName(USER_ID);
+        writeUuid(generator, value.getUserId());
+        generator.writeFieldName(SUBJECT);
+        writeString(generator, value.getSubject());
+        generator.writeFieldName(BODY);
+        writeString(generator, value.getBody());
+        generator.writeFieldName(CREATED_ON);
+        writeLocalDateTime(generator, value.getCreatedOn());
+        generator.writeFieldName(STATUS);
+        writeString(generator, value.getStatus() == null ? null : value.getStatus().name());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,114 @@
+package app.web.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Writes the value types of our responses straight into a char buffer, producing the same text as
+ * Jackson's UUID and ISO-8601 {@code LocalDateTime} serializers without the formatter machinery.
+ */
+final class SerializerSupport {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private SerializerSupport() {
+    }
+
+    static void writeString(JsonGenerator generator, String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    static void writeUuid(JsonGenerator generator, UUID value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+
+        long msb = value.getMostSignificantBits();
+        long lsb = value.getLeastSignificantBits();
+
+        // Like Jackson's UUIDSerializer, binary formats such as CBOR get the 16 raw bytes.
+        if (generator.canWriteBinaryNatively()) {
+            byte[] bytes = new byte[16];
+            for (int i = 0; i < 8; i++) {
+                bytes[i] = (byte) (msb >>> (56 - 8 * i));
+                bytes[8 + i] = (byte) (lsb >>> (56 - 8 * i));
+            }
+            generator.writeBinary(bytes);
+            return;
+        }
+
+        char[] chars = new char[36];
+        appendHex(chars, 0, msb >>> 32, 8);
+        chars[8] = '-';
+        appendHex(chars, 9, msb >>> 16, 4);
+        chars[13] = '-';
+        appendHex(chars, 14, msb, 4);
+        chars[18] = '-';
+        appendHex(chars, 19, lsb >>> 48, 4);
+        chars[23] = '-';
+        appendHex(chars, 24, lsb, 12);
+        generator.writeString(chars, 0, chars.length);
+    }
+
+    static void writeLocalDateTime(JsonGenerator generator, LocalDateTime value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        if (value.getYear() < 0 || value.getYear() > 9999) {
+            generator.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+
+        char[] chars = new char[29];
+        appendDigits(chars, 0, value.getYear(), 4);
+        chars[4] = '-';
+        appendDigits(chars, 5, value.getMonthValue(), 2);
+        chars[7] = '-';
+        appendDigits(chars, 8, value.getDayOfMonth(), 2);
+        chars[10] = 'T';
+        appendDigits(chars, 11, value.getHour(), 2);
+        chars[13] = ':';
+        appendDigits(chars, 14, value.getMinute(), 2);
+        chars[16] = ':';
+        appendDigits(chars, 17, value.getSecond(), 2);
+
+        int length = 19;
+        int nano = value.getNano();
+        if (nano > 0) {
+            // Same as ISO_LOCAL_TIME: the fraction is printed with trailing zeros removed.
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            chars[19] = '.';
+            appendDigits(chars, 20, nano, digits);
+            length = 20 + digits;
+        }
+        generator.writeString(chars, 0, length);
+    }
+
+    private static void appendHex(char[] chars, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static void appendDigits(char[] chars, int offset, int value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
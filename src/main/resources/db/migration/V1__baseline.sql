@@ -0,0 +1,17 @@
+-- Schema as it stood when migrations took over from ddl-auto=update.
+
+create table notification (
+    id         binary(16)   not null,
+    user_id    binary(16)   not null,
+    subject    varchar(255) not null,
+    body       text         not null,
+    created_on datetime(6)  not null,
+    primary key (id)
+) engine = InnoDB;
+
+create table notification_preference (
+    user_id      binary(16) not null,
+    enabled      bit        not null,
+    contact_info varchar(255),
+    primary key (user_id)
+) engine = InnoDB;
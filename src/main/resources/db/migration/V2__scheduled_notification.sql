@@ -0,0 +1,13 @@
+-- Notifications accepted with a future sendAt; the scheduler range-scans send_at.
+
+create table scheduled_notification (
+    id         binary(16)   not null,
+    user_id    binary(16)   not null,
+    subject    varchar(255) not null,
+    body       text         not null,
+    send_at    datetime(6)  not null,
+    created_on datetime(6)  not null,
+    primary key (id)
+) engine = InnoDB;
+
+create index idx_scheduled_notification_send_at on scheduled_notification (send_at);
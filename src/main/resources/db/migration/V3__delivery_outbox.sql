@@ -0,0 +1,21 @@
+-- Per-user delivery channel, and the outbox the delivery workers claim from.
+
+alter table notification_preference
+    add column channel enum ('EMAIL', 'LOG', 'SMS', 'WEBHOOK');
+
+create table outbox_message (
+    id              binary(16)   not null,
+    notification_id binary(16)   not null,
+    user_id         binary(16)   not null,
+    channel         enum ('EMAIL', 'LOG', 'SMS', 'WEBHOOK') not null,
+    recipient       varchar(255),
+    subject         varchar(255) not null,
+    body            text         not null,
+    attempts        integer      not null,
+    available_at    datetime(6)  not null,
+    lease_owner     varchar(255),
+    created_on      datetime(6)  not null,
+    primary key (id)
+) engine = InnoDB;
+
+create index idx_outbox_message_available_at on outbox_message (available_at);
@@ -0,0 +1,2 @@
+-- Serves a user's notification history, newest first.
+create index idx_notification_user_id_created_on on notification (user_id, created_on);
@@ -0,0 +1,2 @@
+-- Inverted index behind GET /api/v1/notifications/search; InnoDB maintains it on every insert.
+create fulltext index ft_notification_subject_body on notification (subject, body);
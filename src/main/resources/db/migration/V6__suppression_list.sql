@@ -0,0 +1,14 @@
+-- Recipients that must not be contacted, and the outcome of each notification.
+
+create table suppressed_recipient (
+    address    varchar(320) not null,
+    reason     enum ('COMPLAINT', 'HARD_BOUNCE', 'INVALID', 'MANUAL') not null,
+    active     bit          not null,
+    updated_on datetime(6)  not null,
+    primary key (address)
+) engine = InnoDB;
+
+create index idx_suppressed_recipient_updated_on on suppressed_recipient (updated_on, address);
+
+alter table notification
+    add column status enum ('QUEUED', 'SUPPRESSED') not null default 'QUEUED';
@@ -0,0 +1,9 @@
+-- Hourly send outcome counts per user; user_id 0x00..00 holds the totals across all users.
+
+create table send_statistics_rollup (
+    bucket_start datetime(6) not null,
+    user_id      binary(16)  not null,
+    outcome      enum ('DISABLED', 'FAILED', 'SENT', 'SUPPRESSED') not null,
+    total        bigint      not null,
+    primary key (user_id, bucket_start, outcome)
+) engine = InnoDB;
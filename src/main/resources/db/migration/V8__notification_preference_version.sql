@@ -0,0 +1,4 @@
+-- Optimistic locking for preference updates.
+
+alter table notification_preference
+    add column version bigint not null default 0;
@@ -0,0 +1,171 @@
+package app;
+
+import app.exception.PreferenceUpdateConflictException;
+import app.exception.PreferenceVersionMismatchException;
+import app.model.ChannelType;
+import app.model.NotificationPreference;
+import app.repository.NotificationPreferenceRepository;
+import app.service.NotificationService;
+import app.web.dto.UpsertNotificationPreference;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Many writers on one preference row. Runs against an in-memory H2 database, so it needs no MySQL.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:preference-concurrency;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+public class PreferenceConcurrencyITest {
+
+    private static final int THREADS = 16;
+    private static final int WRITES_PER_THREAD = 25;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationPreferenceRepository preferenceRepository;
+
+    @Test
+    void conditionalReadModifyWrite_ShouldNotLoseUpdates() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        notificationService.upsertPreference(aPreference(userId, "0"));
+
+        // When: every writer increments the counter kept in contactInfo, guarded by the version it read
+        runConcurrently(() -> {
+            for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                while (true) {
+                    NotificationPreference current = notificationService.getPreferenceByUserId(userId);
+                    int counter = Integer.parseInt(current.getContactInfo());
+                    try {
+                        notificationService.upsertPreference(aPreference(userId, String.valueOf(counter + 1)),
+                                current.getVersion());
+                        break;
+                    } catch (PreferenceVersionMismatchException e) {
+                        // Someone else got in first: read again.
+                    }
+                }
+            }
+        });
+
+        // Then
+        NotificationPreference result = preferenceRepository.findById(userId).orElseThrow();
+        assertEquals(String.valueOf(THREADS * WRITES_PER_THREAD), result.getContactInfo());
+        assertEquals(THREADS * WRITES_PER_THREAD, result.getVersion());
+    }
+
+    @Test
+    void unconditionalWrites_ShouldEachApplyToTheLatestVersion() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        notificationService.upsertPreference(aPreference(userId, "initial"));
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        // When: every write carries a distinct contact, so each one that is applied must bump the version
+        runConcurrently(() -> {
+            for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                try {
+                    notificationService.upsertPreference(aPreference(userId, UUID.randomUUID().toString()));
+                    applied.incrementAndGet();
+                } catch (PreferenceUpdateConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+            }
+        });
+
+        // Then: no two writers committed on top of the same version
+        NotificationPreference result = preferenceRepository.findById(userId).orElseThrow();
+        assertEquals(THREADS * WRITES_PER_THREAD, applied.get() + conflicts.get());
+        assertEquals(applied.get(), result.getVersion());
+    }
+
+    @Test
+    void concurrentCreation_ShouldTurnDuplicateKeyIntoUpdate() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        // When: every writer finds no preference and inserts one
+        runConcurrently(() -> {
+            try {
+                notificationService.upsertPreference(aPreference(userId, UUID.randomUUID().toString()));
+                applied.incrementAndGet();
+            } catch (PreferenceUpdateConflictException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        // Then: one insert, every other applied write became an update on top of it
+        NotificationPreference result = preferenceRepository.findById(userId).orElseThrow();
+        assertEquals(THREADS, applied.get() + conflicts.get());
+        assertEquals(applied.get() - 1, result.getVersion());
+    }
+
+    @Test
+    void integrityViolationOtherThanDuplicateKey_ShouldNotBeRetried() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        notificationService.upsertPreference(aPreference(userId, "initial"));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () ->
+                notificationService.upsertPreference(aPreference(userId, "x".repeat(1_000))));
+        assertEquals(0, preferenceRepository.findById(userId).orElseThrow().getVersion());
+    }
+
+    private void runConcurrently(Runnable writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            writers.add(executor.submit(() -> {
+                start.await();
+                writer.run();
+                return null;
+            }));
+        }
+
+        start.countDown();
+        try {
+            for (Future<?> future : writers) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private UpsertNotificationPreference aPreference(UUID userId, String contactInfo) {
+        return UpsertNotificationPreference.builder()
+                .userId(userId)
+                .notificationEnabled(true)
+                .contactInfo(contactInfo)
+                // The log channel takes no address, so contactInfo can carry arbitrary test values.
+                .channel(ChannelType.LOG)
+                .build();
+    }
+}
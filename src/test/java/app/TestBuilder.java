@@ -2,6 +2,7 @@ package app;
 
 import app.model.Notification;
 import app.model.NotificationPreference;
+import app.model.NotificationStatus;
 import lombok.experimental.UtilityClass;
 
 import java.time.LocalDateTime;
@@ -16,6 +17,7 @@ public class TestBuilder {
                 .userId(UUID.randomUUID())
                 .enabled(true)
                 .contactInfo("text")
+                .version(0L)
                 .build();
     }
 
@@ -26,6 +28,7 @@ public class TestBuilder {
                 .subject("text")
                 .body("test body")
                 .createdOn(LocalDateTime.now())
+                .status(NotificationStatus.QUEUED)
                 .build();
     }
 }
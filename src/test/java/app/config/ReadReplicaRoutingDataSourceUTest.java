@@ -0,0 +1,179 @@
+package app.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each H2 in-memory database stands in for one server and knows its own name.
+ */
+public class ReadReplicaRoutingDataSourceUTest {
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ReadReplicaRoutingDataSource.clearPrimaryPin();
+        routingDataSource.close();
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldGoToTheReplicaAndWritesToThePrimary() {
+        // Given
+        JdbcTemplate jdbcTemplate = route(server("primary"), List.of(server("replica")));
+
+        // When & Then
+        assertEquals("replica", inTransaction(true, jdbcTemplate));
+        ReadReplicaRoutingDataSource.clearPrimaryPin();
+        assertEquals("primary", inTransaction(false, jdbcTemplate));
+    }
+
+    @Test
+    void readAfterWrite_ShouldStayOnThePrimaryUntilThePinIsCleared() {
+        // Given
+        JdbcTemplate jdbcTemplate = route(server("primary"), List.of(server("replica")));
+
+        // When
+        inTransaction(false, jdbcTemplate);
+
+        // Then
+        assertEquals("primary", inTransaction(true, jdbcTemplate));
+        ReadReplicaRoutingDataSource.clearPrimaryPin();
+        assertEquals("replica", inTransaction(true, jdbcTemplate));
+    }
+
+    @Test
+    void reads_ShouldRotateOverReplicas() {
+        // Given
+        JdbcTemplate jdbcTemplate = route(server("primary"), List.of(server("replica-a"), server("replica-b")));
+
+        // When & Then
+        assertEquals("replica-a", inTransaction(true, jdbcTemplate));
+        assertEquals("replica-b", inTransaction(true, jdbcTemplate));
+        assertEquals("replica-a", inTransaction(true, jdbcTemplate));
+    }
+
+    @Test
+    void unavailableReplica_ShouldBeSkippedAndReadsFallBackToThePrimary() {
+        // Given: IFEXISTS makes connecting to a database that was never created fail
+        DataSource down = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", "");
+        JdbcTemplate jdbcTemplate = route(server("primary"), List.of(down, server("replica")));
+
+        // When & Then
+        assertEquals("replica", inTransaction(true, jdbcTemplate));
+        assertEquals("replica", inTransaction(true, jdbcTemplate));
+        assertEquals(1, routingDataSource.healthyReplicas());
+
+        routingDataSource.checkReplicas();
+        assertEquals(1, routingDataSource.healthyReplicas());
+    }
+
+    @Test
+    void noHealthyReplica_ShouldSendReadsToThePrimary() {
+        // Given
+        DataSource down = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", "");
+        JdbcTemplate jdbcTemplate = route(server("primary"), List.of(down));
+
+        // When & Then
+        assertEquals("primary", inTransaction(true, jdbcTemplate));
+        assertEquals(0, routingDataSource.healthyReplicas());
+    }
+
+    @Test
+    void withoutReplicas_EveryTransactionShouldUseThePrimary() {
+        // Given
+        JdbcTemplate jdbcTemplate = route(server("primary"), List.of());
+
+        // When & Then
+        assertEquals("primary", inTransaction(true, jdbcTemplate));
+        assertEquals("primary", inTransaction(false, jdbcTemplate));
+        assertFalse(isReplicaReadAfterQuery(jdbcTemplate));
+    }
+
+    @Test
+    void isReplicaRead_ShouldReflectWhereTheTransactionsConnectionCameFrom() {
+        // Given
+        DataSource down = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", "");
+        JdbcTemplate toReplica = route(server("primary"), List.of(server("replica")));
+        JdbcTemplate toFallback = new JdbcTemplate(new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(server("primary"), List.of(down), Duration.ofSeconds(1))));
+
+        // When & Then
+        assertTrue(isReplicaReadAfterQuery(toReplica));
+        assertFalse(isReplicaReadAfterQuery(toFallback));
+        assertFalse(ReadReplicaRoutingDataSource.isReplicaRead());
+    }
+
+    @Test
+    void getConnectionWithCredentials_ShouldBeRoutedLikeAnyOtherConnection() throws Exception {
+        // Given
+        JdbcTemplate jdbcTemplate = route(server("primary"), List.of(server("replica")));
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        readOnly.setReadOnly(true);
+
+        // When & Then
+        try (Connection connection = routingDataSource.getConnection("sa", "")) {
+            assertEquals("primary", name(connection));
+        }
+        assertEquals("replica", readOnly.execute(status -> {
+            try (Connection connection = routingDataSource.getConnection("sa", "")) {
+                return name(connection);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+    }
+
+    private JdbcTemplate route(DataSource primary, List<DataSource> replicas) {
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(1));
+        return new JdbcTemplate(new LazyConnectionDataSourceProxy(routingDataSource));
+    }
+
+    private String inTransaction(boolean readOnly, JdbcTemplate jdbcTemplate) {
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("select name from server", String.class));
+    }
+
+    private boolean isReplicaReadAfterQuery(JdbcTemplate jdbcTemplate) {
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        transactionTemplate.setReadOnly(true);
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("select name from server", String.class);
+            return ReadReplicaRoutingDataSource.isReplicaRead();
+        }));
+    }
+
+    private static String name(Connection connection) throws SQLException {
+        try (ResultSet resultSet = connection.createStatement().executeQuery("select name from server")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private DataSource server(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table server (name varchar(32))");
+        jdbcTemplate.update("insert into server (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,114 @@
+package app.delivery;
+
+import app.config.DeliveryProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChannelBulkheadUTest {
+
+    private final ScheduledExecutorService timeoutScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void shutdown() {
+        timeoutScheduler.shutdownNow();
+    }
+
+    @Test
+    void submit_ShouldFailSlowDeliveriesAfterTimeout() {
+        // Given
+        DeliveryProperties.Bulkhead settings = new DeliveryProperties.Bulkhead();
+        settings.setTimeout(Duration.ofMillis(50));
+        ChannelBulkhead bulkhead = new ChannelBulkhead("test", settings, timeoutScheduler, Clock.systemUTC());
+
+        // When
+        CompletableFuture<Void> result = bulkhead.submit(() -> sleep(5_000));
+
+        // Then
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(DeliveryException.class, failure.getCause());
+        bulkhead.shutdown();
+    }
+
+    @Test
+    void submit_ShouldNotCountQueueWaitTowardsTimeout() {
+        // Given
+        DeliveryProperties.Bulkhead settings = new DeliveryProperties.Bulkhead();
+        settings.setThreads(1);
+        settings.setTimeout(Duration.ofMillis(300));
+        ChannelBulkhead bulkhead = new ChannelBulkhead("test", settings, timeoutScheduler, Clock.systemUTC());
+
+        // When: the last delivery waits 400ms in the queue, but runs for only 200ms
+        CompletableFuture<Void> first = bulkhead.submit(() -> sleep(200));
+        CompletableFuture<Void> second = bulkhead.submit(() -> sleep(200));
+        CompletableFuture<Void> third = bulkhead.submit(() -> sleep(200));
+
+        // Then
+        assertDoesNotThrow(() -> CompletableFuture.allOf(first, second, third).get(2, TimeUnit.SECONDS));
+        assertFalse(bulkhead.isCircuitOpen());
+        bulkhead.shutdown();
+    }
+
+    @Test
+    void submit_ShouldRejectWhenPoolAndQueueAreFull() {
+        // Given
+        DeliveryProperties.Bulkhead settings = new DeliveryProperties.Bulkhead();
+        settings.setThreads(1);
+        settings.setQueueCapacity(1);
+        ChannelBulkhead bulkhead = new ChannelBulkhead("test", settings, timeoutScheduler, Clock.systemUTC());
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        bulkhead.submit(() -> await(release));
+        bulkhead.submit(() -> await(release));
+        CompletableFuture<Void> rejected = bulkhead.submit(() -> { });
+
+        // Then
+        assertTrue(rejected.isCompletedExceptionally());
+        release.countDown();
+        bulkhead.shutdown();
+    }
+
+    @Test
+    void submit_ShouldOpenCircuitAfterConsecutiveFailures() throws Exception {
+        // Given
+        DeliveryProperties.Bulkhead settings = new DeliveryProperties.Bulkhead();
+        settings.setFailureThreshold(2);
+        ChannelBulkhead bulkhead = new ChannelBulkhead("test", settings, timeoutScheduler, Clock.systemUTC());
+        Runnable failing = () -> {
+            throw new DeliveryException("boom");
+        };
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<Void> attempt = bulkhead.submit(failing);
+            assertThrows(ExecutionException.class, () -> attempt.get(1, TimeUnit.SECONDS));
+        }
+
+        // Then
+        assertTrue(bulkhead.isCircuitOpen());
+        assertTrue(bulkhead.submit(() -> { }).isCompletedExceptionally());
+        bulkhead.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
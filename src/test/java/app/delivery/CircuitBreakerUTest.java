@@ -0,0 +1,44 @@
+package app.delivery;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerUTest {
+
+    @Test
+    void release_ShouldLetAnotherTrialThroughWhenTrialNeverRan() {
+        // Given
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ZERO, Clock.systemUTC());
+        circuitBreaker.onFailure();
+        CircuitBreaker.Permit trial = circuitBreaker.tryAcquire();
+        assertEquals(CircuitBreaker.Permit.TRIAL, trial);
+        assertEquals(CircuitBreaker.Permit.DENIED, circuitBreaker.tryAcquire());
+
+        // When
+        circuitBreaker.release(trial);
+
+        // Then
+        assertEquals(CircuitBreaker.Permit.TRIAL, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void isOpen_ShouldReportClosedOnceOpenDurationHasPassedUntilTrialIsTaken() {
+        // Given
+        CircuitBreaker open = new CircuitBreaker(1, Duration.ofHours(1), Clock.systemUTC());
+        CircuitBreaker halfOpen = new CircuitBreaker(1, Duration.ZERO, Clock.systemUTC());
+
+        // When
+        open.onFailure();
+        halfOpen.onFailure();
+
+        // Then
+        assertTrue(open.isOpen());
+        assertFalse(halfOpen.isOpen());
+        halfOpen.tryAcquire();
+        assertTrue(halfOpen.isOpen());
+    }
+}
@@ -0,0 +1,247 @@
+package app.delivery;
+
+import app.config.DeliveryProperties;
+import app.model.ChannelType;
+import app.model.SendOutcome;
+import app.model.OutboxMessage;
+import app.service.OutboxService;
+import app.service.SendStatistics;
+import app.service.SuppressionList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayUTest {
+
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private DeliveryDispatcher deliveryDispatcher;
+    @Mock
+    private SuppressionList suppressionList;
+    @Mock
+    private SendStatistics sendStatistics;
+
+    @Test
+    void relay_ShouldAcknowledgeDeliveredAndReleaseFailedMessages() {
+        // Given
+        OutboxRelay outboxRelay = aRelay();
+        OutboxMessage delivered = anOutboxMessage("ok@example.com");
+        OutboxMessage failed = anOutboxMessage("bounce@example.com");
+        givenClaimableEmails(delivered, failed);
+        when(deliveryDispatcher.dispatch(eq(ChannelType.EMAIL), argThat(message -> message != null
+                && "ok@example.com".equals(message.getRecipient()))))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(deliveryDispatcher.dispatch(eq(ChannelType.EMAIL), argThat(message -> message != null
+                && "bounce@example.com".equals(message.getRecipient()))))
+                .thenReturn(CompletableFuture.failedFuture(new DeliveryException("boom")));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxService).acknowledge(eq(List.of(delivered.getId())), anyString());
+        verify(outboxService).release(eq(failed), anyString());
+        verify(sendStatistics).record(delivered.getUserId(), SendOutcome.SENT);
+    }
+
+    @Test
+    void relay_ShouldSuppressRecipientInsteadOfRetryingPermanentFailure() {
+        // Given
+        OutboxRelay outboxRelay = aRelay();
+        OutboxMessage bounced = anOutboxMessage("gone@example.com");
+        givenClaimableEmails(bounced);
+        when(deliveryDispatcher.dispatch(eq(ChannelType.EMAIL), any()))
+                .thenReturn(CompletableFuture.failedFuture(new DeliveryException("unknown mailbox", null, true)));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(suppressionList).recordBounce("gone@example.com");
+        verify(outboxService).acknowledge(eq(List.of(bounced.getId())), anyString());
+        verify(outboxService, never()).release(any(), any());
+    }
+
+    @Test
+    void relay_ShouldDoNothingWhenOutboxIsEmpty() {
+        // Given
+        OutboxRelay outboxRelay = aRelay();
+        givenClaimableEmails();
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(deliveryDispatcher, never()).dispatch(any(), any());
+        verify(outboxService, never()).acknowledge(any(), any());
+    }
+
+    @Test
+    void relay_ShouldPutBackMessageRejectedBeforeReachingTheChannelWithoutUsingAnAttempt() {
+        // Given
+        OutboxRelay outboxRelay = aRelay();
+        OutboxMessage rejected = anOutboxMessage("user@example.com");
+        givenClaimableEmails(rejected);
+        when(deliveryDispatcher.dispatch(eq(ChannelType.EMAIL), any()))
+                .thenReturn(CompletableFuture.failedFuture(new ChannelUnavailableException("Circuit is open.")));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxService).postpone(eq(rejected), anyString());
+        verify(outboxService, never()).release(any(), any());
+        verifyNoInteractions(sendStatistics);
+    }
+
+    @Test
+    void relay_ShouldNotClaimForChannelsWithOpenCircuit() {
+        // Given
+        OutboxRelay outboxRelay = aRelay();
+        when(deliveryDispatcher.supports(any())).thenReturn(true);
+        when(deliveryDispatcher.isAvailable(any())).thenReturn(true);
+        when(deliveryDispatcher.isAvailable(ChannelType.EMAIL)).thenReturn(false);
+        givenClaimableEmails();
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxService).claim(anyString(), eq(10), eq(Set.of(ChannelType.WEBHOOK)));
+        verify(outboxService, never()).claim(anyString(), anyInt(),
+                argThat((Collection<ChannelType> channels) -> channels.contains(ChannelType.EMAIL)));
+    }
+
+    @Test
+    void relay_ShouldAcknowledgeEachMessageAsItsDeliveryCompletes() {
+        // Given
+        OutboxRelay outboxRelay = aRelay();
+        OutboxMessage fast = anOutboxMessage("fast@example.com");
+        OutboxMessage slow = anOutboxMessage("slow@example.com");
+        CompletableFuture<Void> slowDelivery = new CompletableFuture<>();
+        givenClaimableEmails(fast, slow);
+        when(deliveryDispatcher.dispatch(eq(ChannelType.EMAIL), argThat(message -> message != null
+                && "fast@example.com".equals(message.getRecipient()))))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(deliveryDispatcher.dispatch(eq(ChannelType.EMAIL), argThat(message -> message != null
+                && "slow@example.com".equals(message.getRecipient()))))
+                .thenReturn(slowDelivery);
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxService).acknowledge(eq(List.of(fast.getId())), anyString());
+        verify(outboxService, never()).acknowledge(eq(List.of(slow.getId())), anyString());
+
+        // When
+        givenClaimableEmails();
+        slowDelivery.complete(null);
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxService).acknowledge(eq(List.of(slow.getId())), anyString());
+    }
+
+    @Test
+    void relay_ShouldNotClaimMoreThanTheChannelCanDeliverWithinOneLease() {
+        // Given
+        DeliveryProperties deliveryProperties = new DeliveryProperties();
+        DeliveryProperties.Bulkhead email = new DeliveryProperties.Bulkhead();
+        email.setThreads(2);
+        email.setTimeout(Duration.ofSeconds(30));
+        deliveryProperties.getChannels().put(ChannelType.EMAIL, email);
+        OutboxRelay outboxRelay = new OutboxRelay(outboxService, deliveryDispatcher, suppressionList, sendStatistics,
+                deliveryProperties, Duration.ofMinutes(2), 10);
+        givenClaimableEmails(anOutboxMessage("a@example.com"), anOutboxMessage("b@example.com"),
+                anOutboxMessage("c@example.com"), anOutboxMessage("d@example.com"), anOutboxMessage("e@example.com"),
+                anOutboxMessage("f@example.com"));
+        when(deliveryDispatcher.dispatch(eq(ChannelType.EMAIL), any())).thenReturn(new CompletableFuture<>());
+
+        // When
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        // Then: 2 threads x (4 timeouts per lease - 1 in reserve), and nothing more while those are in flight
+        verify(outboxService).claim(anyString(), eq(6), eq(Set.of(ChannelType.EMAIL)));
+        verify(outboxService, times(1)).claim(anyString(), anyInt(), eq(Set.of(ChannelType.EMAIL)));
+    }
+
+    @Test
+    void relay_ShouldStillAcknowledgeOtherMessagesWhenPuttingOneBackFails() {
+        // Given
+        OutboxRelay outboxRelay = aRelay();
+        OutboxMessage rejected = anOutboxMessage("busy@example.com");
+        OutboxMessage delivered = anOutboxMessage("ok@example.com");
+        givenClaimableEmails(rejected, delivered);
+        when(deliveryDispatcher.dispatch(eq(ChannelType.EMAIL), argThat(message -> message != null
+                && "busy@example.com".equals(message.getRecipient()))))
+                .thenReturn(CompletableFuture.failedFuture(new ChannelUnavailableException("Channel is saturated.")));
+        when(deliveryDispatcher.dispatch(eq(ChannelType.EMAIL), argThat(message -> message != null
+                && "ok@example.com".equals(message.getRecipient()))))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        doThrow(new IllegalStateException("database unavailable")).when(outboxService).postpone(eq(rejected), anyString());
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxService).acknowledge(eq(List.of(delivered.getId())), anyString());
+    }
+
+    @Test
+    void relay_ShouldAcknowledgePermanentFailureEvenIfRecordingTheBounceFails() {
+        // Given
+        OutboxRelay outboxRelay = aRelay();
+        OutboxMessage bounced = anOutboxMessage("gone@example.com");
+        givenClaimableEmails(bounced);
+        when(deliveryDispatcher.dispatch(eq(ChannelType.EMAIL), any()))
+                .thenReturn(CompletableFuture.failedFuture(new DeliveryException("unknown mailbox", null, true)));
+        doThrow(new IllegalStateException("database unavailable")).when(suppressionList).recordBounce(anyString());
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxService).acknowledge(eq(List.of(bounced.getId())), anyString());
+    }
+
+    private OutboxRelay aRelay() {
+        return new OutboxRelay(outboxService, deliveryDispatcher, suppressionList, sendStatistics,
+                new DeliveryProperties(), Duration.ofMinutes(2), 10);
+    }
+
+    private void givenClaimableEmails(OutboxMessage... messages) {
+        doAnswer(invocation -> invocation.<Collection<ChannelType>>getArgument(2).contains(ChannelType.EMAIL)
+                ? List.of(messages)
+                : List.of())
+                .when(outboxService).claim(anyString(), anyInt(), any());
+    }
+
+    private OutboxMessage anOutboxMessage(String recipient) {
+        return OutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .notificationId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .channel(ChannelType.EMAIL)
+                .recipient(recipient)
+                .subject("Hello")
+                .body("Test body")
+                .availableAt(LocalDateTime.now())
+                .createdOn(LocalDateTime.now())
+                .build();
+    }
+}
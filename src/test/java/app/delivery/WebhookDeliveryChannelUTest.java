@@ -0,0 +1,135 @@
+package app.delivery;
+
+import app.config.DeliveryConfig;
+import app.config.DeliveryProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebhookDeliveryChannelUTest {
+
+    private HttpServer stubServer;
+    private final List<String> receivedBodies = new CopyOnWriteArrayList<>();
+    private final List<String> idempotencyKeys = new CopyOnWriteArrayList<>();
+    private final AtomicInteger responseStatus = new AtomicInteger(204);
+
+    private WebhookDeliveryChannel webhookDeliveryChannel;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/hook", exchange -> {
+            receivedBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            idempotencyKeys.add(exchange.getRequestHeaders().getFirst("Idempotency-Key"));
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        stubServer.start();
+
+        DeliveryProperties deliveryProperties = new DeliveryProperties();
+        deliveryProperties.getWebhook().setAllowPrivateAddresses(true);
+        webhookDeliveryChannel = new WebhookDeliveryChannel(new DeliveryConfig().webhookHttpClient(),
+                new ObjectMapper(), deliveryProperties);
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    void deliver_ShouldPostJsonPayloadWithIdempotencyKey() {
+        // Given
+        DeliveryMessage message = aMessage();
+
+        // When
+        webhookDeliveryChannel.deliver(message);
+        webhookDeliveryChannel.deliver(message);
+
+        // Then
+        assertEquals(2, receivedBodies.size());
+        assertTrue(receivedBodies.get(0).contains("\"subject\":\"Hello\""));
+        assertEquals(message.getNotificationId().toString(), idempotencyKeys.get(0));
+    }
+
+    @Test
+    void deliver_ShouldThrowOnNonSuccessfulStatus() {
+        // Given
+        responseStatus.set(500);
+
+        // When & Then
+        assertThrows(DeliveryException.class, () -> webhookDeliveryChannel.deliver(aMessage()));
+    }
+
+    @Test
+    void deliver_ShouldFailPermanentlyOnRecipientThatIsNotAnHttpUrl() {
+        // Given
+        DeliveryMessage message = aMessage("mailto:user@example.com");
+
+        // When
+        DeliveryException exception = assertThrows(DeliveryException.class,
+                () -> webhookDeliveryChannel.deliver(message));
+
+        // Then
+        assertTrue(exception.isPermanent());
+    }
+
+    @Test
+    void deliver_ShouldRefusePrivateAddressUnlessAllowed() {
+        // Given
+        WebhookDeliveryChannel publicOnlyChannel = new WebhookDeliveryChannel(new DeliveryConfig().webhookHttpClient(),
+                new ObjectMapper(), new DeliveryProperties());
+
+        // When
+        DeliveryException exception = assertThrows(DeliveryException.class,
+                () -> publicOnlyChannel.deliver(aMessage()));
+
+        // Then
+        assertTrue(exception.isPermanent());
+        assertTrue(receivedBodies.isEmpty());
+    }
+
+    @Test
+    void acceptsRecipient_ShouldOnlyAcceptPublicHttpUrls() {
+        // Given
+        WebhookDeliveryChannel publicOnlyChannel = new WebhookDeliveryChannel(new DeliveryConfig().webhookHttpClient(),
+                new ObjectMapper(), new DeliveryProperties());
+
+        // When & Then
+        assertTrue(publicOnlyChannel.acceptsRecipient("https://hooks.example.com/notify"));
+        assertFalse(publicOnlyChannel.acceptsRecipient("user@example.com"));
+        assertFalse(publicOnlyChannel.acceptsRecipient("ftp://hooks.example.com/notify"));
+        assertFalse(publicOnlyChannel.acceptsRecipient("https:///notify"));
+        assertFalse(publicOnlyChannel.acceptsRecipient("http://localhost:8080/hook"));
+        assertFalse(publicOnlyChannel.acceptsRecipient("http://127.0.0.1/hook"));
+        assertFalse(publicOnlyChannel.acceptsRecipient("http://10.0.0.5/hook"));
+        assertFalse(publicOnlyChannel.acceptsRecipient("http://169.254.169.254/latest/meta-data"));
+        assertFalse(publicOnlyChannel.acceptsRecipient("http://[::1]/hook"));
+    }
+
+    private DeliveryMessage aMessage() {
+        return aMessage("http://localhost:%d/hook".formatted(stubServer.getAddress().getPort()));
+    }
+
+    private DeliveryMessage aMessage(String recipient) {
+        return DeliveryMessage.builder()
+                .notificationId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .recipient(recipient)
+                .subject("Hello")
+                .body("Test body")
+                .build();
+    }
+}
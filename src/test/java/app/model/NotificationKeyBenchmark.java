@@ -0,0 +1,119 @@
+package app.model;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Random (v4) versus time-ordered (v7) notification keys. Without arguments it only measures id
+ * generation. Given a JDBC URL, user and password (and optionally a row count, default 10M) it also fills
+ * two copies of the notification table on that MySQL server, printing insert throughput per million rows
+ * and the final data and index size. Not a unit test; run the main method directly, e.g. with
+ * {@code jdbc:mysql://localhost:3306/notifications_bench?createDatabaseIfNotExist=true&rewriteBatchedStatements=true}.
+ */
+public class NotificationKeyBenchmark {
+
+    private static final int GENERATION_ROUNDS = 5_000_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int REPORT_EVERY = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        generation("v4 random", UUID::randomUUID);
+        generation("v7 time-ordered", TimeOrderedUuidGenerator::next);
+
+        if (args.length < 3) {
+            return;
+        }
+
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 10_000_000;
+        try (Connection connection = DriverManager.getConnection(args[0], args[1], args[2])) {
+            inserts(connection, "notification_bench_v4", UUID::randomUUID, rows);
+            inserts(connection, "notification_bench_v7", TimeOrderedUuidGenerator::next, rows);
+        }
+    }
+
+    private static void generation(String name, Supplier<UUID> ids) {
+        long sink = 0;
+        for (int i = 0; i < GENERATION_ROUNDS; i++) {
+            sink += ids.get().getLeastSignificantBits();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < GENERATION_ROUNDS; i++) {
+            sink += ids.get().getLeastSignificantBits();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-16s %6.1f ns/id (%d)%n", name, (double) elapsed / GENERATION_ROUNDS, sink % 10);
+    }
+
+    private static void inserts(Connection connection, String table, Supplier<UUID> ids, int rows) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + table);
+            statement.execute("create table " + table + " (" +
+                    "id binary(16) not null, user_id binary(16) not null, subject varchar(255) not null, " +
+                    "body text not null, created_on datetime(6) not null, " +
+                    "status enum ('QUEUED', 'SUPPRESSED') not null default 'QUEUED', primary key (id), " +
+                    "index idx_" + table + "_user_id_created_on (user_id, created_on)) engine = InnoDB");
+        }
+
+        UUID[] users = new UUID[10_000];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = UUID.randomUUID();
+        }
+
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        long intervalStart = start;
+        try (PreparedStatement insert = connection.prepareStatement("insert into " + table +
+                " (id, user_id, subject, body, created_on) values (?, ?, ?, ?, ?)")) {
+            for (int row = 1; row <= rows; row++) {
+                insert.setBytes(1, bytes(ids.get()));
+                insert.setBytes(2, bytes(users[row % users.length]));
+                insert.setString(3, "Your order #" + row + " has shipped");
+                insert.setString(4, "Hello, your order has left our warehouse and should arrive within three working days.");
+                insert.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+                insert.addBatch();
+
+                if (row % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if (row % REPORT_EVERY == 0) {
+                    long now = System.nanoTime();
+                    System.out.printf("%s %,d rows: %,.0f rows/s%n", table, row,
+                            REPORT_EVERY / ((now - intervalStart) / 1e9));
+                    intervalStart = now;
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+        System.out.printf("%s total: %,.0f rows/s%n", table, rows / ((System.nanoTime() - start) / 1e9));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze table " + table);
+            try (ResultSet size = statement.executeQuery("select data_length, index_length from information_schema.tables " +
+                    "where table_schema = database() and table_name = '" + table + "'")) {
+                size.next();
+                System.out.printf("%s clustered index %,d MB, secondary indexes %,d MB%n", table,
+                        size.getLong(1) >> 20, size.getLong(2) >> 20);
+            }
+        }
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,71 @@
+package app.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedUuidGeneratorUTest {
+
+    @Test
+    void next_ShouldProduceVersion7WithTheCurrentTimestamp() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID id = TimeOrderedUuidGenerator.next();
+
+        // Then
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void next_ShouldIncreaseInByteOrderEvenWithinOneMillisecond() {
+        // Given
+        UUID previous = TimeOrderedUuidGenerator.next();
+
+        for (int i = 0; i < 100_000; i++) {
+            // When
+            UUID next = TimeOrderedUuidGenerator.next();
+
+            // Then: BINARY(16) compares unsigned, most significant byte first
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void next_ShouldNotRepeatAcrossThreads() throws Exception {
+        // Given
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> generators = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            generators.add(executor.submit(() -> {
+                for (int j = 0; j < 50_000; j++) {
+                    ids.add(TimeOrderedUuidGenerator.next());
+                }
+            }));
+        }
+        for (Future<?> generator : generators) {
+            generator.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(8 * 50_000, ids.size());
+    }
+}
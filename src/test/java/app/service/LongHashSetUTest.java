@@ -0,0 +1,46 @@
+package app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongHashSetUTest {
+
+    @Test
+    void addAndRemove_ShouldBehaveLikeHashSet() {
+        // Given
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            // A small value range forces collisions, growth and deletions inside probe chains.
+            long value = 1 + random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.add(value));
+            } else {
+                assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+
+        // Then
+        assertEquals(expected.size(), set.size());
+        for (long value = 1; value <= 2_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    @Test
+    void zero_ShouldBeRejected() {
+        // Given
+        LongHashSet set = new LongHashSet(16);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> set.add(0));
+    }
+}
@@ -0,0 +1,53 @@
+package app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MissingPreferenceCacheUTest {
+
+    @Test
+    void markMissing_ShouldNotRecordLookupThatStartedBeforeInvalidation() {
+        // Given
+        MissingPreferenceCache cache = new MissingPreferenceCache(100, Duration.ofMinutes(1));
+        UUID userId = UUID.randomUUID();
+        long stamp = cache.stamp();
+
+        // When
+        cache.invalidate(userId);
+        cache.markMissing(userId, stamp);
+
+        // Then
+        assertFalse(cache.isMissing(userId));
+    }
+
+    @Test
+    void markMissing_ShouldExpireEntriesAfterTtl() {
+        // Given
+        MissingPreferenceCache cache = new MissingPreferenceCache(100, Duration.ofMillis(-1));
+        UUID userId = UUID.randomUUID();
+
+        // When
+        cache.markMissing(userId, cache.stamp());
+
+        // Then
+        assertFalse(cache.isMissing(userId));
+    }
+
+    @Test
+    void markMissing_ShouldStayWithinMaxSize() {
+        // Given
+        MissingPreferenceCache cache = new MissingPreferenceCache(100, Duration.ofMinutes(1));
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            cache.markMissing(UUID.randomUUID(), cache.stamp());
+        }
+
+        // Then
+        assertTrue(cache.size() <= 100);
+    }
+}
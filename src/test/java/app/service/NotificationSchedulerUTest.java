@@ -0,0 +1,114 @@
+package app.service;
+
+import app.exception.NotificationsDisabledException;
+import app.model.ScheduledNotificationDeadline;
+import app.repository.ScheduledNotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationSchedulerUTest {
+
+    @Mock
+    private ScheduledNotificationRepository scheduledNotificationRepository;
+    @Mock
+    private NotificationService notificationService;
+
+    @Test
+    void loadDueSoon_ShouldPageThroughRowsSharingOneSendAt() {
+        // Given
+        NotificationScheduler scheduler = new NotificationScheduler(scheduledNotificationRepository,
+                notificationService, Duration.ofMillis(200), Duration.ofMinutes(1), Duration.ofMinutes(5), 2, 1, 10);
+        LocalDateTime sendAt = LocalDateTime.now().plusSeconds(30);
+        ScheduledNotificationDeadline first = aDeadline(sendAt);
+        ScheduledNotificationDeadline second = aDeadline(sendAt);
+        ScheduledNotificationDeadline third = aDeadline(sendAt);
+        when(scheduledNotificationRepository.findDeadlines(any(), any(), any()))
+                .thenReturn(List.of(first, second));
+        when(scheduledNotificationRepository.findDeadlinesAfter(eq(sendAt), eq(second.getId()), any(), any()))
+                .thenReturn(List.of(third));
+
+        // When
+        scheduler.loadDueSoon();
+
+        // Then
+        verify(scheduledNotificationRepository).findDeadlinesAfter(eq(sendAt), eq(second.getId()), any(), any());
+        verifyNoMoreInteractions(scheduledNotificationRepository);
+    }
+
+    @Test
+    void loadDueSoon_ShouldRescanFromGraceWindowOnEveryLoad() {
+        // Given
+        NotificationScheduler scheduler = new NotificationScheduler(scheduledNotificationRepository,
+                notificationService, Duration.ofMillis(200), Duration.ofMinutes(1), Duration.ofMinutes(5), 100, 1, 10);
+        when(scheduledNotificationRepository.findDeadlines(any(), any(), any()))
+                .thenReturn(List.of());
+
+        // When
+        scheduler.loadDueSoon();
+        LocalDateTime beforeSecondLoad = LocalDateTime.now();
+        scheduler.loadDueSoon();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(scheduledNotificationRepository, times(2))
+                .findDeadlines(from.capture(), any(), any());
+        assertEquals(1000, from.getAllValues().get(0).getYear());
+        assertTrue(!from.getAllValues().get(1).isAfter(beforeSecondLoad.minusMinutes(5).plusSeconds(1)));
+        assertTrue(from.getAllValues().get(1).isAfter(beforeSecondLoad.minusMinutes(6)));
+    }
+
+    @Test
+    void dispatchDue_ShouldSendDueNotificationsById() {
+        // Given
+        NotificationScheduler scheduler = new NotificationScheduler(scheduledNotificationRepository,
+                notificationService, Duration.ofMillis(200), Duration.ofMinutes(1), Duration.ofMinutes(5), 100, 1, 10);
+        ScheduledNotificationDeadline due = aDeadline(LocalDateTime.now().minusSeconds(1));
+        when(scheduledNotificationRepository.findDeadlines(any(), any(), any())).thenReturn(List.of(due));
+        scheduler.loadDueSoon();
+
+        // When
+        scheduler.dispatchDue();
+
+        // Then
+        verify(notificationService, timeout(1000)).sendScheduledNotification(due.getId());
+        scheduler.shutdown();
+    }
+
+    @Test
+    void dispatchDue_ShouldDeleteNotificationRejectedByDomainRules() {
+        // Given
+        NotificationScheduler scheduler = new NotificationScheduler(scheduledNotificationRepository,
+                notificationService, Duration.ofMillis(200), Duration.ofMinutes(1), Duration.ofMinutes(5), 100, 1, 10);
+        ScheduledNotificationDeadline due = aDeadline(LocalDateTime.now().minusSeconds(1));
+        when(scheduledNotificationRepository.findDeadlines(any(), any(), any())).thenReturn(List.of(due));
+        when(notificationService.sendScheduledNotification(due.getId()))
+                .thenThrow(new NotificationsDisabledException(UUID.randomUUID()));
+        scheduler.loadDueSoon();
+
+        // When
+        scheduler.dispatchDue();
+
+        // Then
+        verify(scheduledNotificationRepository, timeout(1000)).deleteById(due.getId());
+        scheduler.shutdown();
+    }
+
+    private ScheduledNotificationDeadline aDeadline(LocalDateTime sendAt) {
+        return new ScheduledNotificationDeadline(UUID.randomUUID(), sendAt);
+    }
+}
@@ -1,19 +1,39 @@
 package app.service;
 
+import app.config.DeliveryProperties;
+import app.delivery.DeliveryDispatcher;
+import app.exception.InvalidRecipientException;
+import app.exception.NotificationsDisabledException;
+import app.exception.PreferenceNotFoundException;
+import app.exception.PreferenceUpdateConflictException;
+import app.exception.PreferenceVersionMismatchException;
+import app.exception.UnsupportedChannelException;
+import app.model.ChannelType;
 import app.model.Notification;
 import app.model.NotificationPreference;
+import app.model.NotificationStatus;
+import app.model.NotificationSummary;
+import app.model.OutboxMessage;
+import app.model.ScheduledNotification;
 import app.repository.NotificationPreferenceRepository;
 import app.repository.NotificationRepository;
+import app.repository.OutboxMessageRepository;
+import app.repository.ScheduledNotificationRepository;
 import app.web.dto.NotificationRequest;
 import app.web.dto.UpsertNotificationPreference;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.MailSender;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -31,11 +51,31 @@ public class NotificationServiceUTest {
     @Mock
     private NotificationRepository notificationRepository;
     @Mock
-    private MailSender mailSender;
+    private ScheduledNotificationRepository scheduledNotificationRepository;
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+    @Spy
+    private DeliveryProperties deliveryProperties = new DeliveryProperties();
+    @Mock
+    private DeliveryDispatcher deliveryDispatcher;
+    @Spy
+    private MissingPreferenceCache missingPreferenceCache = new MissingPreferenceCache(100, Duration.ofMinutes(1));
+    @Mock
+    private SuppressionList suppressionList;
+    @Mock
+    private SendStatistics sendStatistics;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private NotificationService notificationService;
 
+    @BeforeEach
+    void registerChannels() {
+        lenient().when(deliveryDispatcher.supports(any())).thenReturn(true);
+        lenient().when(deliveryDispatcher.acceptsRecipient(any(), any())).thenReturn(true);
+    }
+
     @Test
     void givenNotExistingNotificationPreference_whenChangeNotificationPreference_thenExpectException(){
 
@@ -45,7 +85,7 @@ public class NotificationServiceUTest {
         when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThrows(IllegalStateException.class, () ->
+        assertThrows(PreferenceNotFoundException.class, () ->
                 notificationService.changeNotificationPreference(userId, isNotificationEnabled));
     }
 
@@ -67,6 +107,85 @@ public class NotificationServiceUTest {
         verify(preferenceRepository, times(1)).save(preference);
     }
 
+    @Test
+    void changeNotificationPreference_ShouldRetryOnConcurrentUpdate() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        NotificationPreference preference = NotificationPreference.builder()
+                .userId(userId)
+                .enabled(false)
+                .version(3L)
+                .build();
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(preference));
+        when(preferenceRepository.save(preference))
+                .thenThrow(new ObjectOptimisticLockingFailureException(NotificationPreference.class, userId))
+                .thenReturn(preference);
+
+        // When
+        NotificationPreference result = notificationService.changeNotificationPreference(userId, true);
+
+        // Then
+        assertTrue(result.isEnabled());
+        verify(preferenceRepository, times(2)).findByUserId(userId);
+    }
+
+    @Test
+    void changeNotificationPreference_ShouldNotRetryIntegrityViolationOtherThanDuplicateKey() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        NotificationPreference preference = NotificationPreference.builder()
+                .userId(userId)
+                .enabled(false)
+                .version(3L)
+                .build();
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(preference));
+        when(preferenceRepository.save(preference)).thenThrow(new DataIntegrityViolationException("Data too long"));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () ->
+                notificationService.changeNotificationPreference(userId, true));
+        verify(preferenceRepository, times(1)).save(preference);
+    }
+
+    @Test
+    void changeNotificationPreference_ShouldGiveUpAfterBoundedRetries() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        NotificationPreference preference = NotificationPreference.builder()
+                .userId(userId)
+                .version(3L)
+                .build();
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(preference));
+        when(preferenceRepository.save(preference))
+                .thenThrow(new ObjectOptimisticLockingFailureException(NotificationPreference.class, userId));
+
+        // When & Then
+        assertThrows(PreferenceUpdateConflictException.class, () ->
+                notificationService.changeNotificationPreference(userId, true));
+        verify(preferenceRepository, times(5)).save(preference);
+    }
+
+    @Test
+    void upsertPreference_ShouldRejectStaleExpectedVersionWithoutWriting() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        NotificationPreference existingPref = NotificationPreference.builder()
+                .userId(userId)
+                .version(4L)
+                .build();
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(existingPref));
+
+        UpsertNotificationPreference dto = UpsertNotificationPreference.builder()
+                .userId(userId)
+                .notificationEnabled(true)
+                .contactInfo("new@example.com")
+                .build();
+
+        // When & Then
+        assertThrows(PreferenceVersionMismatchException.class, () -> notificationService.upsertPreference(dto, 3L));
+        verify(preferenceRepository, never()).save(any());
+    }
+
     @Test
     void upsertPreference_ShouldUpdateExistingPreference() {
         // Given
@@ -140,16 +259,54 @@ public class NotificationServiceUTest {
     }
 
     @Test
-    void getPreferenceByUserId_ShouldThrowIllegalStateException_IfMissing() {
+    void getPreferenceByUserId_ShouldThrowPreferenceNotFoundException_IfMissing() {
         // Given
         UUID userId = UUID.randomUUID();
         when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThrows(IllegalStateException.class, () ->
+        assertThrows(PreferenceNotFoundException.class, () ->
                 notificationService.getPreferenceByUserId(userId));
     }
 
+    @Test
+    void getPreferenceByUserId_ShouldNotQueryAgainForKnownMissingUser() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.empty());
+
+        // When
+        assertThrows(PreferenceNotFoundException.class, () -> notificationService.getPreferenceByUserId(userId));
+        assertThrows(PreferenceNotFoundException.class, () -> notificationService.getPreferenceByUserId(userId));
+
+        // Then
+        verify(preferenceRepository, times(1)).findByUserId(userId);
+    }
+
+    @Test
+    void upsertPreference_ShouldInvalidateKnownMissingUser() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        NotificationPreference pref = NotificationPreference.builder()
+                .userId(userId)
+                .enabled(true)
+                .build();
+        when(preferenceRepository.findByUserId(userId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(pref));
+        assertThrows(PreferenceNotFoundException.class, () -> notificationService.getPreferenceByUserId(userId));
+
+        // When
+        notificationService.upsertPreference(UpsertNotificationPreference.builder()
+                .userId(userId)
+                .notificationEnabled(true)
+                .build());
+
+        // Then
+        assertEquals(pref, notificationService.getPreferenceByUserId(userId));
+    }
+
     @Test
     void sendNotification_ShouldThrowIfPreferenceNotFound() {
         // Given
@@ -162,10 +319,10 @@ public class NotificationServiceUTest {
         when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThrows(IllegalStateException.class, () ->
+        assertThrows(PreferenceNotFoundException.class, () ->
                 notificationService.sendNotification(request));
         verify(notificationRepository, never()).save(any());
-        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+        verify(outboxMessageRepository, never()).save(any());
     }
 
     @Test
@@ -186,14 +343,14 @@ public class NotificationServiceUTest {
                 .build();
 
         // When & Then
-        assertThrows(IllegalArgumentException.class, () ->
+        assertThrows(NotificationsDisabledException.class, () ->
                 notificationService.sendNotification(request));
         verify(notificationRepository, never()).save(any());
-        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+        verify(outboxMessageRepository, never()).save(any());
     }
 
     @Test
-    void sendNotification_ShouldSendMailIfContactInfoPresent() {
+    void sendNotification_ShouldEnqueueEmailIfContactInfoPresent() {
         // Given
         UUID userId = UUID.randomUUID();
         NotificationPreference pref = NotificationPreference.builder()
@@ -225,12 +382,12 @@ public class NotificationServiceUTest {
         assertNotNull(result);
         assertEquals("Hello", result.getSubject());
         assertEquals("Test body", result.getBody());
-        verify(mailSender).send(any(SimpleMailMessage.class));
+        verify(outboxMessageRepository).save(argThat((OutboxMessage message) -> message.getChannel() == ChannelType.EMAIL));
         verify(notificationRepository).save(any(Notification.class));
     }
 
     @Test
-    void sendNotification_ShouldNotSendMailIfContactInfoBlank() {
+    void sendNotification_ShouldNotEnqueueIfContactInfoBlank() {
         // Given
         UUID userId = UUID.randomUUID();
         NotificationPreference pref = NotificationPreference.builder()
@@ -258,10 +415,37 @@ public class NotificationServiceUTest {
         // Then
         assertNotNull(result);
         assertEquals("No email", result.getSubject());
-        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+        verify(outboxMessageRepository, never()).save(any());
         verify(notificationRepository).save(any(Notification.class));
     }
 
+    @Test
+    void sendNotification_ShouldRecordButNotEnqueueForSuppressedRecipient() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        NotificationPreference pref = NotificationPreference.builder()
+                .userId(userId)
+                .enabled(true)
+                .contactInfo("bounced@example.com")
+                .build();
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+        when(suppressionList.isSuppressed("bounced@example.com")).thenReturn(true);
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        NotificationRequest request = NotificationRequest.builder()
+                .userId(userId)
+                .subject("Hello")
+                .body("Test body")
+                .build();
+
+        // When
+        Notification result = notificationService.sendNotification(request);
+
+        // Then
+        assertEquals(NotificationStatus.SUPPRESSED, result.getStatus());
+        verify(outboxMessageRepository, never()).save(any());
+    }
+
     @Test
     void getNotificationHistory_ShouldReturnListFromRepository() {
         // Given
@@ -276,4 +460,215 @@ public class NotificationServiceUTest {
         assertEquals(2, result.size());
         verify(notificationRepository).findByUserId(userId);
     }
+
+    @Test
+    void getNotificationSummaries_ShouldUseProjectionInsteadOfEntities() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        List<NotificationSummary> summaries = List.of(
+                new NotificationSummary(UUID.randomUUID(), "Hello", LocalDateTime.now(), "Test body"));
+        when(notificationRepository.findSummariesByUserId(eq(userId), any())).thenReturn(summaries);
+
+        // When
+        List<NotificationSummary> result = notificationService.getNotificationSummaries(userId, 0, 20);
+
+        // Then
+        assertEquals(summaries, result);
+        verify(notificationRepository, never()).findByUserId(any());
+    }
+
+    @Test
+    void getNotificationSummaries_ShouldClampPageSize() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.findSummariesByUserId(eq(userId), any())).thenReturn(List.of());
+
+        // When
+        notificationService.getNotificationSummaries(userId, -1, 10_000);
+
+        // Then
+        verify(notificationRepository).findSummariesByUserId(eq(userId),
+                argThat((Pageable pageable) -> pageable.getPageSize() == 100 && pageable.getPageNumber() == 0));
+    }
+
+    @Test
+    void searchNotifications_ShouldClampPageSize() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        NotificationSummary match = new NotificationSummary(UUID.randomUUID(), "Invoice ready", LocalDateTime.now(),
+                "x".repeat(NotificationSummary.BODY_PREVIEW_LENGTH));
+        when(notificationRepository.search(eq(userId), eq("invoice"), any(), any(), any())).thenReturn(List.of(match));
+
+        // When
+        List<NotificationSummary> result =
+                notificationService.searchNotifications(userId, "invoice", null, null, 0, 10_000);
+
+        // Then
+        assertEquals(List.of(match), result);
+        verify(notificationRepository).search(eq(userId), eq("invoice"), any(), any(),
+                argThat((Pageable pageable) -> pageable.getPageSize() == 100 && pageable.getPageNumber() == 0));
+    }
+
+    @Test
+    void scheduleNotification_ShouldPersistScheduledEntry() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        LocalDateTime sendAt = LocalDateTime.now().plusHours(1);
+        NotificationPreference pref = NotificationPreference.builder()
+                .userId(userId)
+                .enabled(true)
+                .contactInfo("user@example.com")
+                .build();
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+        when(scheduledNotificationRepository.save(any(ScheduledNotification.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        NotificationRequest request = NotificationRequest.builder()
+                .userId(userId)
+                .subject("Reminder")
+                .body("Test body")
+                .sendAt(sendAt)
+                .build();
+
+        // When
+        ScheduledNotification result = notificationService.scheduleNotification(request);
+
+        // Then
+        assertEquals(sendAt, result.getSendAt());
+        assertEquals("Reminder", result.getSubject());
+        verify(outboxMessageRepository, never()).save(any());
+        verify(notificationRepository, never()).save(any());
+    }
+
+    @Test
+    void sendScheduledNotification_ShouldSkipIfAlreadyClaimed() {
+        // Given
+        ScheduledNotification scheduled = ScheduledNotification.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .subject("Reminder")
+                .body("Test body")
+                .sendAt(LocalDateTime.now())
+                .build();
+        when(scheduledNotificationRepository.findById(scheduled.getId())).thenReturn(Optional.of(scheduled));
+        when(scheduledNotificationRepository.deleteScheduled(scheduled.getId())).thenReturn(0);
+
+        // When
+        Optional<Notification> result = notificationService.sendScheduledNotification(scheduled.getId());
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(preferenceRepository, never()).findByUserId(any());
+        verify(notificationRepository, never()).save(any());
+    }
+
+    @Test
+    void sendNotification_ShouldPreferRequestedChannelOverPreference() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        NotificationPreference pref = NotificationPreference.builder()
+                .userId(userId)
+                .enabled(true)
+                .contactInfo("user@example.com")
+                .channel(ChannelType.EMAIL)
+                .build();
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        NotificationRequest request = NotificationRequest.builder()
+                .userId(userId)
+                .subject("Hello")
+                .body("Test body")
+                .channel(ChannelType.LOG)
+                .build();
+
+        // When
+        notificationService.sendNotification(request);
+
+        // Then
+        verify(outboxMessageRepository).save(argThat((OutboxMessage message) -> message.getChannel() == ChannelType.LOG));
+    }
+
+    @Test
+    void sendNotification_ShouldRejectChannelWithoutDeliveryChannel() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        NotificationPreference pref = NotificationPreference.builder()
+                .userId(userId)
+                .enabled(true)
+                .contactInfo("+359888000000")
+                .build();
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+        when(deliveryDispatcher.supports(ChannelType.SMS)).thenReturn(false);
+
+        NotificationRequest request = NotificationRequest.builder()
+                .userId(userId)
+                .subject("Hello")
+                .body("Test body")
+                .channel(ChannelType.SMS)
+                .build();
+
+        // When & Then
+        assertThrows(UnsupportedChannelException.class, () -> notificationService.sendNotification(request));
+        verify(notificationRepository, never()).save(any());
+        verify(outboxMessageRepository, never()).save(any());
+    }
+
+    @Test
+    void upsertPreference_ShouldRejectChannelWithoutDeliveryChannel() {
+        // Given
+        when(deliveryDispatcher.supports(ChannelType.SMS)).thenReturn(false);
+        UpsertNotificationPreference dto = UpsertNotificationPreference.builder()
+                .userId(UUID.randomUUID())
+                .notificationEnabled(true)
+                .contactInfo("+359888000000")
+                .channel(ChannelType.SMS)
+                .build();
+
+        // When & Then
+        assertThrows(UnsupportedChannelException.class, () -> notificationService.upsertPreference(dto));
+        verify(preferenceRepository, never()).save(any());
+    }
+
+    @Test
+    void upsertPreference_ShouldRejectRecipientTheChannelCannotDeliverTo() {
+        // Given
+        when(deliveryDispatcher.acceptsRecipient(ChannelType.WEBHOOK, "http://169.254.169.254/")).thenReturn(false);
+        UpsertNotificationPreference dto = UpsertNotificationPreference.builder()
+                .userId(UUID.randomUUID())
+                .notificationEnabled(true)
+                .contactInfo("http://169.254.169.254/")
+                .channel(ChannelType.WEBHOOK)
+                .build();
+
+        // When & Then
+        assertThrows(InvalidRecipientException.class, () -> notificationService.upsertPreference(dto));
+        verify(preferenceRepository, never()).save(any());
+    }
+
+    @Test
+    void sendNotification_ShouldRejectRecipientTheRequestedChannelCannotDeliverTo() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        NotificationPreference pref = NotificationPreference.builder()
+                .userId(userId)
+                .enabled(true)
+                .contactInfo("user@example.com")
+                .channel(ChannelType.EMAIL)
+                .build();
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+        when(deliveryDispatcher.acceptsRecipient(ChannelType.WEBHOOK, "user@example.com")).thenReturn(false);
+
+        NotificationRequest request = NotificationRequest.builder()
+                .userId(userId)
+                .subject("Hello")
+                .body("Test body")
+                .channel(ChannelType.WEBHOOK)
+                .build();
+
+        // When & Then
+        assertThrows(InvalidRecipientException.class, () -> notificationService.sendNotification(request));
+        verify(notificationRepository, never()).save(any());
+        verify(outboxMessageRepository, never()).save(any());
+    }
 }
@@ -0,0 +1,145 @@
+package app.service;
+
+import app.model.SendOutcome;
+import app.model.SendStatisticsRollup;
+import app.model.StatisticsGranularity;
+import app.repository.SendStatisticsRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SendStatisticsUTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 10, 25);
+    private static final Clock CLOCK = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    @Mock
+    private SendStatisticsRollupRepository rollupRepository;
+
+    @Test
+    void flush_ShouldAddPerUserAndGlobalCountsToTheHourlyRollup() {
+        // Given
+        SendStatistics sendStatistics = new SendStatistics(rollupRepository, CLOCK);
+        UUID userId = UUID.randomUUID();
+        sendStatistics.record(userId, SendOutcome.SENT);
+        sendStatistics.record(userId, SendOutcome.SENT);
+        sendStatistics.record(UUID.randomUUID(), SendOutcome.SENT);
+
+        // When
+        sendStatistics.flush();
+        sendStatistics.flush();
+
+        // Then
+        LocalDateTime hour = LocalDateTime.of(2025, 3, 1, 10, 0);
+        verify(rollupRepository).increment(hour, userId, "SENT", 2);
+        verify(rollupRepository).increment(hour, SendStatisticsRollup.GLOBAL_USER_ID, "SENT", 3);
+        verify(rollupRepository, times(3)).increment(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void flush_ShouldKeepCountsWhenTheDatabaseWriteFails() {
+        // Given
+        SendStatistics sendStatistics = new SendStatistics(rollupRepository, CLOCK);
+        UUID userId = UUID.randomUUID();
+        sendStatistics.record(userId, SendOutcome.FAILED);
+        doThrow(new IllegalStateException("database down"))
+                .doNothing()
+                .when(rollupRepository).increment(any(), eq(userId), any(), anyLong());
+
+        // When
+        sendStatistics.flush();
+        sendStatistics.record(userId, SendOutcome.FAILED);
+        sendStatistics.flush();
+
+        // Then
+        verify(rollupRepository).increment(NOW.withMinute(0), userId, "FAILED", 2);
+    }
+
+    @Test
+    void recordWhileFlushing_ShouldNotLoseCounts() throws Exception {
+        // Given
+        SendStatistics sendStatistics = new SendStatistics(rollupRepository, CLOCK);
+        AtomicLong flushed = new AtomicLong();
+        doAnswer(invocation -> flushed.addAndGet(invocation.getArgument(3)))
+                .when(rollupRepository).increment(any(), eq(SendStatisticsRollup.GLOBAL_USER_ID), any(), anyLong());
+        int threads = 8;
+        int recordsPerThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<?>> senders = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            UUID userId = UUID.randomUUID();
+            senders.add(executor.submit(() -> {
+                for (int j = 0; j < recordsPerThread; j++) {
+                    sendStatistics.record(userId, SendOutcome.SENT);
+                }
+            }));
+        }
+        while (!senders.stream().allMatch(Future::isDone)) {
+            sendStatistics.flush();
+        }
+        for (Future<?> sender : senders) {
+            sender.get();
+        }
+        sendStatistics.flush();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals((long) threads * recordsPerThread, flushed.get());
+    }
+
+    @Test
+    void getStatistics_ShouldSumHourlyRollupsIntoDays() {
+        // Given
+        SendStatistics sendStatistics = new SendStatistics(rollupRepository, CLOCK);
+        UUID userId = UUID.randomUUID();
+        when(rollupRepository.findByUserIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+                eq(userId), any(), any()))
+                .thenReturn(List.of(
+                        aRollup(userId, LocalDateTime.of(2025, 3, 1, 8, 0), SendOutcome.SENT, 5),
+                        aRollup(userId, LocalDateTime.of(2025, 3, 1, 9, 0), SendOutcome.SENT, 7),
+                        aRollup(userId, LocalDateTime.of(2025, 3, 1, 9, 0), SendOutcome.DISABLED, 1),
+                        aRollup(userId, LocalDateTime.of(2025, 3, 2, 0, 0), SendOutcome.SENT, 2)));
+
+        // When
+        List<SendStatistics.Bucket> buckets = sendStatistics.getStatistics(userId, NOW.minusDays(2), NOW.plusDays(1),
+                StatisticsGranularity.DAY);
+
+        // Then
+        assertEquals(2, buckets.size());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 0, 0), buckets.get(0).bucketStart());
+        assertEquals(12, buckets.get(0).get(SendOutcome.SENT));
+        assertEquals(1, buckets.get(0).get(SendOutcome.DISABLED));
+        assertEquals(0, buckets.get(0).get(SendOutcome.FAILED));
+        assertEquals(2, buckets.get(1).get(SendOutcome.SENT));
+    }
+
+    private SendStatisticsRollup aRollup(UUID userId, LocalDateTime bucketStart, SendOutcome outcome, long total) {
+        return SendStatisticsRollup.builder()
+                .userId(userId)
+                .bucketStart(bucketStart)
+                .outcome(outcome)
+                .total(total)
+                .build();
+    }
+}
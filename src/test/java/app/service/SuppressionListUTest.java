@@ -0,0 +1,74 @@
+package app.service;
+
+import app.model.SuppressedRecipient;
+import app.model.SuppressionReason;
+import app.repository.SuppressedRecipientRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SuppressionListUTest {
+
+    @Mock
+    private SuppressedRecipientRepository suppressedRecipientRepository;
+
+    @Test
+    void sync_ShouldPickUpRowCommittedBehindTheCursor() {
+        // Given
+        SuppressionList suppressionList = new SuppressionList(suppressedRecipientRepository, 16, 100,
+                Duration.ofMinutes(5));
+        LocalDateTime cursor = LocalDateTime.of(2026, 1, 1, 12, 0);
+        when(suppressedRecipientRepository.findChangesAfter(any(), eq(""), any()))
+                .thenReturn(List.of(aSuppressedRecipient("first@example.com", cursor)));
+        suppressionList.sync();
+
+        // A transaction that started a minute earlier commits only now.
+        when(suppressedRecipientRepository.findChangesAfter(eq(cursor.minusMinutes(5)), eq(""), any()))
+                .thenReturn(List.of(aSuppressedRecipient("late@example.com", cursor.minusMinutes(1)),
+                        aSuppressedRecipient("first@example.com", cursor)));
+
+        // When
+        suppressionList.sync();
+
+        // Then
+        assertTrue(suppressionList.isSuppressed("late@example.com"));
+        assertTrue(suppressionList.isSuppressed("first@example.com"));
+    }
+
+    @Test
+    void recordBounce_ShouldUpsertSoThatConcurrentBouncesDoNotCollide() {
+        // Given
+        SuppressionList suppressionList = new SuppressionList(suppressedRecipientRepository, 16, 100,
+                Duration.ofMinutes(5));
+
+        // When
+        suppressionList.recordBounce(" Gone@Example.com");
+
+        // Then
+        verify(suppressedRecipientRepository).upsertActive(eq("gone@example.com"), eq("HARD_BOUNCE"), any());
+        verify(suppressedRecipientRepository, never()).saveAll(any());
+        assertTrue(suppressionList.isSuppressed("gone@example.com"));
+    }
+
+    private SuppressedRecipient aSuppressedRecipient(String address, LocalDateTime updatedOn) {
+        return SuppressedRecipient.builder()
+                .address(address)
+                .reason(SuppressionReason.HARD_BOUNCE)
+                .active(true)
+                .updatedOn(updatedOn)
+                .build();
+    }
+}
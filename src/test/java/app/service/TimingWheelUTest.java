@@ -0,0 +1,52 @@
+package app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelUTest {
+
+    @Test
+    void advance_ShouldReturnOnlyEntriesThatAreDue() {
+        // Given
+        TimingWheel<String, String> wheel = new TimingWheel<>(Duration.ofMillis(100), 10, 0);
+        wheel.add("a", "a", 150);
+        wheel.add("b", "b", 450);
+
+        // When
+        List<String> due = wheel.advance(200);
+
+        // Then
+        assertEquals(List.of("a"), due);
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("b"), wheel.advance(500));
+    }
+
+    @Test
+    void advance_ShouldKeepEntriesFurtherThanOneRotationAway() {
+        // Given
+        TimingWheel<String, String> wheel = new TimingWheel<>(Duration.ofMillis(100), 4, 0);
+        wheel.add("far", "far", 1_050);
+
+        // When & Then
+        assertTrue(wheel.advance(300).isEmpty());
+        assertTrue(wheel.advance(700).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(1_100));
+    }
+
+    @Test
+    void add_ShouldIgnoreDuplicateKeysAndClampOverdueEntries() {
+        // Given
+        TimingWheel<String, String> wheel = new TimingWheel<>(Duration.ofMillis(100), 10, 1_000);
+
+        // When
+        assertTrue(wheel.add("late", "late", 10));
+        assertFalse(wheel.add("late", "late", 10));
+
+        // Then
+        assertEquals(List.of("late"), wheel.advance(1_000));
+    }
+}
@@ -0,0 +1,62 @@
+package app.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterUTest {
+
+    private static final long TARGET_NANOS = 100_000_000L;
+
+    @Test
+    void tryAcquire_ShouldRefuseBeyondCurrentLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, TARGET_NANOS, 0.5);
+
+        // When & Then
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void onSuccess_ShouldGrowLimitWhileLatencyIsUnderTarget() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, TARGET_NANOS, 0.5);
+
+        // When
+        for (int round = 0; round < 20; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onSuccess(TARGET_NANOS / 2);
+            }
+        }
+
+        // Then
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void slowOrFailedRequests_ShouldShrinkLimitDownToMinimum() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, TARGET_NANOS, 0.5);
+
+        // When
+        limiter.tryAcquire();
+        limiter.onSuccess(TARGET_NANOS * 2);
+        int afterSlowRequest = limiter.getLimit();
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+
+        // Then
+        assertEquals(4, afterSlowRequest);
+        assertEquals(2, limiter.getLimit());
+    }
+}
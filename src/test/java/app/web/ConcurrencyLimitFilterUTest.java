@@ -0,0 +1,75 @@
+package app.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitFilterUTest {
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1_000_000_000L, 0.9);
+    private final Counter rejected = new SimpleMeterRegistry().counter("notifications.send.rejected");
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, rejected,
+            new ObjectMapper().registerModule(new JavaTimeModule()), Duration.ofSeconds(1));
+
+    @Test
+    void requestOverLimit_ShouldFailFastWith503AndRetryAfter() throws Exception {
+        // Given
+        limiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/notifications"), response, new MockFilterChain());
+
+        // Then
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":503"));
+        assertEquals(1.0, rejected.count());
+    }
+
+    @Test
+    void priorityRequest_ShouldBypassLimiter() throws Exception {
+        // Given
+        limiter.tryAcquire();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/notifications");
+        request.addHeader(ConcurrencyLimitFilter.PRIORITY_HEADER, "high");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals(0.0, rejected.count());
+    }
+
+    @Test
+    void requestUnderLimit_ShouldReleasePermitWhenDone() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/notifications"), response, new MockFilterChain());
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void retryAfterSeconds_ShouldRoundUpToAtLeastOneSecond() {
+        assertEquals(1, ConcurrencyLimitFilter.retryAfterSeconds(Duration.ZERO));
+        assertEquals(1, ConcurrencyLimitFilter.retryAfterSeconds(Duration.ofMillis(250)));
+        assertEquals(2, ConcurrencyLimitFilter.retryAfterSeconds(Duration.ofMillis(1_500)));
+        assertEquals(3, ConcurrencyLimitFilter.retryAfterSeconds(Duration.ofSeconds(3)));
+    }
+}
@@ -1,34 +1,60 @@
 package app.web;
 
+import app.config.SerializationConfig;
+import app.exception.NotificationsDisabledException;
+import app.exception.PreferenceNotFoundException;
+import app.exception.PreferenceVersionMismatchException;
+import app.model.NotificationPreference;
+import app.model.NotificationSummary;
+import app.model.ScheduledNotification;
+import app.service.NotificationScheduler;
 import app.service.NotificationService;
+import app.web.dto.NotificationRequest;
 import app.web.dto.UpsertNotificationPreference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static app.TestBuilder.aRandomNotification;
 import static app.TestBuilder.aRandomNotificationPreference;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(NotificationController.class)
+@Import(SerializationConfig.class)
 public class NotificationControllerApiTest {
 
     @MockitoBean
     private NotificationService notificationService;
 
+    @MockitoBean
+    private NotificationScheduler notificationScheduler;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -57,7 +83,7 @@ public class NotificationControllerApiTest {
                 .notificationEnabled(true)
                 .build();
 
-        when(notificationService.upsertPreference(any())).thenReturn(aRandomNotificationPreference());
+        when(notificationService.upsertPreference(any(), isNull())).thenReturn(aRandomNotificationPreference());
         MockHttpServletRequestBuilder request = post("/api/v1/notifications/preferences")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(new ObjectMapper().writeValueAsBytes(requestDto));
@@ -70,10 +96,46 @@ public class NotificationControllerApiTest {
                 .andExpect(jsonPath("contactInfo").isNotEmpty());
     }
 
+    @Test
+    void putChangeNotificationPreference_withIfMatch_passesVersionAndReturnsNewETag() throws Exception {
+        // 1. Build Request
+        NotificationPreference updated = aRandomNotificationPreference();
+        updated.setVersion(8L);
+        when(notificationService.changeNotificationPreference(any(), anyBoolean(), eq(7L))).thenReturn(updated);
+
+        MockHttpServletRequestBuilder request = put("/api/v1/notifications/preferences")
+                .param("userId", UUID.randomUUID().toString())
+                .param("enabled", "false")
+                .header(HttpHeaders.IF_MATCH, "\"7\"");
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"8\""));
+    }
+
+    @Test
+    void putChangeNotificationPreference_withStaleIfMatch_returns412() throws Exception {
+        // 1. Build Request
+        UUID userId = UUID.randomUUID();
+        when(notificationService.changeNotificationPreference(eq(userId), anyBoolean(), eq(7L)))
+                .thenThrow(new PreferenceVersionMismatchException(userId));
+
+        MockHttpServletRequestBuilder request = put("/api/v1/notifications/preferences")
+                .param("userId", userId.toString())
+                .param("enabled", "false")
+                .header(HttpHeaders.IF_MATCH, "\"7\"");
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("status").value(412));
+    }
+
     @Test
     void putChangeNotificationPreference_happyPath() throws Exception {
         // 1. Build Request
-        when(notificationService.changeNotificationPreference(any(), anyBoolean()))
+        when(notificationService.changeNotificationPreference(any(), anyBoolean(), isNull()))
                 .thenReturn(aRandomNotificationPreference());
 
         MockHttpServletRequestBuilder request = put("/api/v1/notifications/preferences")
@@ -106,4 +168,157 @@ public class NotificationControllerApiTest {
                 .andExpect(jsonPath("$[0].body").isNotEmpty())
                 .andExpect(jsonPath("$[0].createdOn").isNotEmpty());
     }
+
+    @Test
+    void postNotificationWithFutureSendAt_returns202AndScheduledEntry() throws Exception {
+        // 1. Build Request
+        LocalDateTime sendAt = LocalDateTime.now().plusHours(1);
+        NotificationRequest requestDto = NotificationRequest.builder()
+                .userId(UUID.randomUUID())
+                .subject("Reminder")
+                .body("text")
+                .sendAt(sendAt)
+                .build();
+
+        when(notificationScheduler.schedule(any())).thenReturn(ScheduledNotification.builder()
+                .id(UUID.randomUUID())
+                .userId(requestDto.getUserId())
+                .subject("Reminder")
+                .body("text")
+                .sendAt(sendAt)
+                .build());
+        MockHttpServletRequestBuilder request = post("/api/v1/notifications")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(requestDto));
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("id").isNotEmpty())
+                .andExpect(jsonPath("sendAt").isNotEmpty());
+    }
+
+    @Test
+    void getNotificationSummaries_happyPath() throws Exception {
+        // 1. Build Request
+        when(notificationService.getNotificationSummaries(any(), eq(2), eq(50)))
+                .thenReturn(List.of(new NotificationSummary(UUID.randomUUID(), "text", LocalDateTime.now(), "test")));
+
+        MockHttpServletRequestBuilder request = get("/api/v1/notifications/summaries")
+                .param("userId", UUID.randomUUID().toString())
+                .param("page", "2")
+                .param("size", "50");
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").isNotEmpty())
+                .andExpect(jsonPath("$[0].subject").isNotEmpty())
+                .andExpect(jsonPath("$[0].bodyPreview").isNotEmpty())
+                .andExpect(jsonPath("$[0].body").doesNotExist());
+    }
+
+    @Test
+    void searchNotifications_happyPath() throws Exception {
+        // 1. Build Request
+        when(notificationService.searchNotifications(any(), eq("invoice"), any(), any(), anyInt(), anyInt()))
+                .thenReturn(List.of(new NotificationSummary(UUID.randomUUID(), "Invoice", LocalDateTime.now(), "text")));
+
+        MockHttpServletRequestBuilder request = get("/api/v1/notifications/search")
+                .param("userId", UUID.randomUUID().toString())
+                .param("q", "invoice")
+                .param("from", "2025-01-01T00:00:00")
+                .param("page", "1")
+                .param("size", "5");
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].subject").value("Invoice"))
+                .andExpect(jsonPath("$[0].bodyPreview").isNotEmpty());
+    }
+
+    @Test
+    void getNotificationById_happyPath() throws Exception {
+        // 1. Build Request
+        when(notificationService.getNotification(any())).thenReturn(Optional.of(aRandomNotification()));
+
+        MockHttpServletRequestBuilder request = get("/api/v1/notifications/{id}", UUID.randomUUID());
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("id").isNotEmpty())
+                .andExpect(jsonPath("body").isNotEmpty());
+    }
+
+    @Test
+    void getUnknownNotificationById_returns404() throws Exception {
+        // 1. Build Request
+        when(notificationService.getNotification(any())).thenReturn(Optional.empty());
+
+        MockHttpServletRequestBuilder request = get("/api/v1/notifications/{id}", UUID.randomUUID());
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getPreferenceOfUnknownUser_returns404() throws Exception {
+        // 1. Build Request
+        UUID userId = UUID.randomUUID();
+        when(notificationService.getPreferenceByUserId(any())).thenThrow(new PreferenceNotFoundException(userId));
+
+        MockHttpServletRequestBuilder request = get("/api/v1/notifications/preferences")
+                .param("userId", userId.toString());
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("status").value(404))
+                .andExpect(jsonPath("message").isNotEmpty());
+    }
+
+    @Test
+    void postNotificationForDisabledUser_returns409() throws Exception {
+        // 1. Build Request
+        UUID userId = UUID.randomUUID();
+        NotificationRequest requestDto = NotificationRequest.builder()
+                .userId(userId)
+                .subject("text")
+                .body("text")
+                .build();
+        when(notificationService.sendNotification(any())).thenThrow(new NotificationsDisabledException(userId));
+
+        MockHttpServletRequestBuilder request = post("/api/v1/notifications")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsBytes(requestDto));
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("status").value(409));
+    }
+
+    @Test
+    void getNotificationHistoryAsCbor_returnsBinaryPayload() throws Exception {
+        // 1. Build Request
+        when(notificationService.getNotificationHistory(any()))
+                .thenReturn(List.of(aRandomNotification(), aRandomNotification()));
+
+        MockHttpServletRequestBuilder request = get("/api/v1/notifications")
+                .param("userId", UUID.randomUUID().toString())
+                .accept("application/cbor");
+
+        // 2. Send Request
+        byte[] payload = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode history = new ObjectMapper(new CBORFactory()).readTree(payload);
+        assertEquals(2, history.size());
+        assertEquals("test body", history.get(0).get("body").asText());
+    }
 }
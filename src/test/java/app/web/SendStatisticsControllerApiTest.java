@@ -0,0 +1,52 @@
+package app.web;
+
+import app.model.SendOutcome;
+import app.model.StatisticsGranularity;
+import app.service.SendStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SendStatisticsController.class)
+public class SendStatisticsControllerApiTest {
+
+    @MockitoBean
+    private SendStatistics sendStatistics;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getGlobalDailyStatistics_returnsOneEntryPerBucket() throws Exception {
+        // 1. Build Request
+        SendStatistics.Bucket bucket = new SendStatistics.Bucket(LocalDateTime.of(2025, 3, 1, 0, 0),
+                Map.of(SendOutcome.SENT, 12L, SendOutcome.DISABLED, 1L));
+        when(sendStatistics.getStatistics(isNull(), any(), any(), eq(StatisticsGranularity.DAY)))
+                .thenReturn(List.of(bucket));
+        MockHttpServletRequestBuilder request = get("/api/v1/notifications/stats")
+                .param("granularity", "DAY");
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bucketStart").isNotEmpty())
+                .andExpect(jsonPath("$[0].sent").value(12))
+                .andExpect(jsonPath("$[0].failed").value(0))
+                .andExpect(jsonPath("$[0].disabled").value(1));
+    }
+}
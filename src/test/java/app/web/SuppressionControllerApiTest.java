@@ -0,0 +1,76 @@
+package app.web;
+
+import app.model.SuppressionReason;
+import app.service.SuppressionList;
+import app.web.dto.SuppressionRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SuppressionController.class)
+public class SuppressionControllerApiTest {
+
+    @MockitoBean
+    private SuppressionList suppressionList;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void postSuppressions_defaultsToManualReasonAndReturnsChangedCount() throws Exception {
+        // 1. Build Request
+        List<String> addresses = List.of("a@example.com", "b@example.com");
+        when(suppressionList.suppress(eq(addresses), eq(SuppressionReason.MANUAL))).thenReturn(2);
+        MockHttpServletRequestBuilder request = post("/api/v1/suppressions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(SuppressionRequest.builder().addresses(addresses).build()));
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("changed").value(2));
+    }
+
+    @Test
+    void deleteSuppressions_returns400WhenAddressesAreMissing() throws Exception {
+        // 1. Build Request
+        MockHttpServletRequestBuilder request = delete("/api/v1/suppressions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}");
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(suppressionList);
+    }
+
+    @Test
+    void getSuppression_returns404WhenAddressIsNotSuppressed() throws Exception {
+        // 1. Build Request
+        when(suppressionList.isSuppressed(anyString())).thenReturn(false);
+        MockHttpServletRequestBuilder request = get("/api/v1/suppressions")
+                .param("address", "user@example.com");
+
+        // 2. Send Request
+        mockMvc.perform(request)
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,111 @@
+package app.web.serializer;
+
+import app.model.ChannelType;
+import app.model.NotificationStatus;
+import app.web.dto.NotificationPreferenceResponse;
+import app.web.dto.NotificationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class NotificationResponseSerializerUTest {
+
+    private final ObjectMapper reflectiveMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ObjectMapper precompiledMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new SimpleModule()
+                    .addSerializer(new NotificationResponseSerializer())
+                    .addSerializer(new NotificationPreferenceResponseSerializer()))
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void notificationResponse_ShouldMatchReflectiveOutput() throws Exception {
+        // Given
+        NotificationResponse response = NotificationResponse.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .subject("Hello \"there\"")
+                .body("Line one\nLine two")
+                .createdOn(LocalDateTime.of(2025, 1, 2, 3, 4))
+                .status(NotificationStatus.QUEUED)
+                .build();
+
+        // When & Then
+        assertEquals(reflectiveMapper.writeValueAsString(response), precompiledMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void fractionalSeconds_ShouldMatchReflectiveOutput() throws Exception {
+        for (int nano : new int[]{1, 120_000_000, 123_456_789, 999_000}) {
+            // Given
+            NotificationResponse response = NotificationResponse.builder()
+                    .id(new UUID(0x0123456789abcdefL, 0xfedcba9876543210L))
+                    .createdOn(LocalDateTime.of(2025, 12, 31, 23, 59, 59, nano))
+                    .build();
+
+            // When & Then
+            assertEquals(reflectiveMapper.writeValueAsString(response), precompiledMapper.writeValueAsString(response));
+        }
+    }
+
+    @Test
+    void notificationResponseWithNulls_ShouldMatchReflectiveOutput() throws Exception {
+        // Given
+        NotificationResponse response = NotificationResponse.builder()
+                .id(UUID.randomUUID())
+                .createdOn(LocalDateTime.now())
+                .build();
+
+        // When & Then
+        assertEquals(reflectiveMapper.writeValueAsString(response), precompiledMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void notificationPreferenceResponse_ShouldMatchReflectiveOutput() throws Exception {
+        // Given
+        NotificationPreferenceResponse response = NotificationPreferenceResponse.builder()
+                .userId(UUID.randomUUID())
+                .enabled(true)
+                .contactInfo("user@example.com")
+                .channel(ChannelType.WEBHOOK)
+                .build();
+
+        // When & Then
+        assertEquals(reflectiveMapper.writeValueAsString(response), precompiledMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void cborOutput_ShouldMatchReflectiveOutput() throws Exception {
+        // Given
+        ObjectMapper reflectiveCbor = new ObjectMapper(new CBORFactory())
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper precompiledCbor = new ObjectMapper(new CBORFactory())
+                .registerModule(new JavaTimeModule())
+                .registerModule(new SimpleModule().addSerializer(new NotificationResponseSerializer()))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        NotificationResponse response = NotificationResponse.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .subject("Hello")
+                .body("Test body")
+                .createdOn(LocalDateTime.now())
+                .status(NotificationStatus.SUPPRESSED)
+                .build();
+
+        // When & Then
+        assertArrayEquals(reflectiveCbor.writeValueAsBytes(response), precompiledCbor.writeValueAsBytes(response));
+    }
+}
@@ -0,0 +1,69 @@
+package app.web.serializer;
+
+import app.web.dto.NotificationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bytes and nanoseconds per {@link NotificationResponse} for a history page, comparing the reflective JSON
+ * writer with the precompiled one, and JSON with CBOR. Not a unit test; run the main method directly.
+ */
+public class SerializationBenchmark {
+
+    private static final int ITEMS = 1_000;
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        List<NotificationResponse> page = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            page.add(NotificationResponse.builder()
+                    .id(UUID.randomUUID())
+                    .userId(UUID.randomUUID())
+                    .subject("Your order #" + i + " has shipped")
+                    .body("Hello, your order has left our warehouse and should arrive within three working days.")
+                    .createdOn(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+
+        SimpleModule precompiled = new SimpleModule().addSerializer(new NotificationResponseSerializer());
+
+        report("json / reflective", mapper(new ObjectMapper()), page);
+        report("json / precompiled", mapper(new ObjectMapper()).registerModule(precompiled), page);
+        report("cbor / precompiled", mapper(new ObjectMapper(new CBORFactory())).registerModule(precompiled), page);
+    }
+
+    private static ObjectMapper mapper(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static void report(String name, ObjectMapper mapper, List<NotificationResponse> page) throws Exception {
+        ObjectWriter writer = mapper.writerFor(mapper.getTypeFactory()
+                .constructCollectionType(List.class, NotificationResponse.class));
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += writer.writeValueAsBytes(page).length;
+        }
+
+        long start = System.nanoTime();
+        int bytes = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            bytes = writer.writeValueAsBytes(page).length;
+            sink += bytes;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-20s %6.1f bytes/item %8.1f ns/item (%d)%n", name, (double) bytes / page.size(),
+                (double) elapsed / MEASURED_ROUNDS / page.size(), sink % 10);
+    }
+}
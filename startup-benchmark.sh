@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Reports the time from JVM launch to the first successful HTTP request, for the plain jar and for
+# the AOT-processed jar started from a class-data-sharing archive. Both runs use the prod profile,
+# so they need the database configured in application.properties.
+#
+# Usage: ./startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=8081
+URL="http://localhost:${PORT}/api/v1/notifications/test"
+JAR_NAME=notifications-0.0.1-SNAPSHOT.jar
+EXTRACTED=target/extracted
+
+./mvnw -B -q -Pfast-start -DskipTests package
+rm -rf "${EXTRACTED}"
+java -Djarmode=tools -jar "target/${JAR_NAME}" extract --destination "${EXTRACTED}"
+
+# Training run: refresh the context once and dump the loaded classes into the archive.
+java -XX:ArchiveClassesAtExit="${EXTRACTED}/application.jsa" \
+     -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh -Dspring.profiles.active=prod \
+     -jar "${EXTRACTED}/${JAR_NAME}" > /dev/null
+
+time_to_first_request() {
+    local start end pid
+    start=$(date +%s%N)
+    java "$@" -Dspring.profiles.active=prod -jar "${EXTRACTED}/${JAR_NAME}" > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf "${URL}" > /dev/null; do
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    kill "${pid}"
+    wait "${pid}" 2> /dev/null || true
+    echo $(( (end - start) / 1000000 ))
+}
+
+for variant in plain fast-start; do
+    total=0
+    for _ in $(seq "${RUNS}"); do
+        if [ "${variant}" = plain ]; then
+            ms=$(time_to_first_request)
+        else
+            ms=$(time_to_first_request -XX:SharedArchiveFile="${EXTRACTED}/application.jsa" -Dspring.aot.enabled=true)
+        fi
+        total=$(( total + ms ))
+    done
+    echo "${variant}: $(( total / RUNS )) ms to first successful request (avg of ${RUNS})"
+done